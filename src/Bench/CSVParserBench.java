@@ -0,0 +1,168 @@
+package Bench;
+
+import java.lang.*;
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import GUI.Entity.CSVReader;
+
+// Throughput and allocation of the shared CSVReader against the per-line parsers
+// it replaced, on a generated roster file (1,000,000 rows by default).
+//
+// Usage: java -cp bin Bench.CSVParserBench [rows]
+public class CSVParserBench {
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path file = Files.createTempFile("roster-bench", ".csv");
+        try {
+            generate(file, rows);
+            System.out.printf("%,d rows, %,d bytes%n%n", rows, Files.size(file));
+            System.out.printf("%-28s %12s %14s %14s%n", "parser", "best ms", "rows/s", "bytes/row");
+            run("legacy entity parseCSVLine", file, CSVParserBench::legacyEntity);
+            run("legacy panel parseCSVLine", file, CSVParserBench::legacyPanel);
+            run("CSVReader field slices", file, CSVParserBench::readerSlices);
+            run("CSVReader toArray", file, CSVParserBench::readerStrings);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private interface Parser {
+        long parse(Path file) throws IOException;
+    }
+
+    private static void run(String name, Path file, Parser parser) throws IOException {
+        long bestNanos = Long.MAX_VALUE;
+        long bestBytes = Long.MAX_VALUE;
+        long records = 0;
+        for (int i = 0; i < RUNS; i++) {
+            long bytesBefore = allocatedBytes();
+            long start = System.nanoTime();
+            records = parser.parse(file);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+            bestBytes = Math.min(bestBytes, allocatedBytes() - bytesBefore);
+        }
+        System.out.printf("%-28s %12.1f %,14.0f %,14d%n", name, bestNanos / 1e6,
+                records / (bestNanos / 1e9), bestBytes / Math.max(records, 1));
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static void generate(Path file, int rows) throws IOException {
+        Random random = new Random(42);
+        String[] departments = {"Computer Science", "Engineering", "Mathematics", "Physics", "Business"};
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("ID,Name,Age,Email,Department,Gender,Address,PhotoPath,RegistrationDate");
+            writer.newLine();
+            for (int i = 0; i < rows; i++) {
+                String address = random.nextInt(4) == 0
+                        ? "\"House " + i + ", Road " + random.nextInt(50) + ", \"\"Dhaka\"\"\""
+                        : "\"Tangail, Bangladesh\"";
+                writer.write("STU-" + (100000 + i) + ",Student Name " + i + "," + (18 + random.nextInt(10))
+                        + ",student" + i + "@fox.edu," + departments[random.nextInt(departments.length)]
+                        + ",Female," + address + ",src\\userdata\\photos\\STU-" + (100000 + i)
+                        + ".png,2025-06-11 22:59:13");
+                writer.newLine();
+            }
+        }
+    }
+
+    // The parser previously copied into Student and Teacher
+    private static long legacyEntity(Path file) throws IOException {
+        long records = 0;
+        long sink = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            while ((line = reader.readLine()) != null) {
+                List<String> result = new ArrayList<>();
+                boolean inQuotes = false;
+                StringBuilder currentField = new StringBuilder();
+                for (int i = 0; i < line.length(); i++) {
+                    char c = line.charAt(i);
+                    if (c == '"') {
+                        if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                            currentField.append('"');
+                            i++;
+                        } else {
+                            inQuotes = !inQuotes;
+                        }
+                    } else if (c == ',' && !inQuotes) {
+                        result.add(currentField.toString());
+                        currentField = new StringBuilder();
+                    } else {
+                        currentField.append(c);
+                    }
+                }
+                result.add(currentField.toString());
+                String[] fields = result.toArray(new String[0]);
+                sink += fields.length;
+                records++;
+            }
+        }
+        return records + (sink < 0 ? 1 : 0);
+    }
+
+    // The parser previously copied into StudentPanel and TeacherPanel
+    private static long legacyPanel(Path file) throws IOException {
+        long records = 0;
+        long sink = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            while ((line = reader.readLine()) != null) {
+                List<String> result = new ArrayList<>();
+                boolean inQuotes = false;
+                StringBuilder sb = new StringBuilder();
+                for (int i = 0; i < line.length(); i++) {
+                    char c = line.charAt(i);
+                    if (c == '\"') {
+                        inQuotes = !inQuotes;
+                    } else if (c == ',' && !inQuotes) {
+                        result.add(sb.toString().replace("\"\"", "\""));
+                        sb.setLength(0);
+                    } else {
+                        sb.append(c);
+                    }
+                }
+                result.add(sb.toString().replace("\"\"", "\""));
+                sink += result.size();
+                records++;
+            }
+        }
+        return records + (sink < 0 ? 1 : 0);
+    }
+
+    private static long readerSlices(Path file) throws IOException {
+        long records = 0;
+        long sink = 0;
+        try (CSVReader reader = new CSVReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            reader.next();
+            while (reader.next()) {
+                for (int i = 0; i < reader.fieldCount(); i++) {
+                    sink += reader.field(i).length();
+                }
+                records++;
+            }
+        }
+        return records + (sink < 0 ? 1 : 0);
+    }
+
+    private static long readerStrings(Path file) throws IOException {
+        long records = 0;
+        long sink = 0;
+        try (CSVReader reader = new CSVReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            reader.next();
+            while (reader.next()) {
+                sink += reader.toArray().length;
+                records++;
+            }
+        }
+        return records + (sink < 0 ? 1 : 0);
+    }
+}
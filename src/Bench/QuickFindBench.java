@@ -0,0 +1,65 @@
+package Bench;
+
+import java.lang.*;
+import java.util.*;
+import GUI.Entity.Person;
+import GUI.Entity.QuickFind;
+import GUI.Entity.Repository;
+
+// Latency of the quick-find dialog's ranked search over two in-memory rosters
+// (100,000 students and 100,000 teachers by default), against scoring every record.
+//
+// Usage: java -cp bin Bench.QuickFindBench [records per roster]
+public class QuickFindBench {
+    private static final int RUNS = 20;
+    private static final int TOP_K = 20;
+    private static final String[] QUERIES = {"STU-100042", "TCH-100042", "farhan.siddiqui", "Nusrat Rahman",
+            "siddiqui", "sylhet", "fa", "xyz"};
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        long start = System.nanoTime();
+        Rosters.InMemory students = new Rosters.InMemory(Rosters.students(count, 42), "STU-");
+        Rosters.InMemory teachers = new Rosters.InMemory(Rosters.students(count, 7), "TCH-");
+        List<Repository<? extends Person>> rosters = Arrays.asList(students, teachers);
+        QuickFind quickFind = new QuickFind(rosters);
+        System.out.printf("%,d records, indexed in %.0f ms%n%n", students.size() + teachers.size(),
+                (System.nanoTime() - start) / 1e6);
+
+        System.out.printf("%-18s %-24s %14s %14s%n", "query", "best hit", "scan us", "quick find us");
+        for (String query : QUERIES) {
+            List<QuickFind.Hit> hits = quickFind.find(query, TOP_K);
+            String best = hits.isEmpty() ? "-" : hits.get(0).getPerson().getId() + " " + hits.get(0).getField();
+            System.out.printf("%-18s %-24s %,14.1f %,14.1f%n", query, best,
+                    best(() -> scanAll(rosters, query)), best(() -> quickFind.find(query, TOP_K)));
+        }
+    }
+
+    // Every record's fields checked against the query, the way a search without indexes would
+    private static int scanAll(List<Repository<? extends Person>> rosters, String query) {
+        String needle = query.toLowerCase();
+        int matches = 0;
+        for (Repository<? extends Person> roster : rosters) {
+            for (Person person : roster.getAll()) {
+                for (String field : person.getSearchFields()) {
+                    if (field != null && field.toLowerCase().contains(needle)) {
+                        matches++;
+                        break;
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static double best(Runnable search) {
+        search.run();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            search.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e3;
+    }
+}
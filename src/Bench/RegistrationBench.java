@@ -0,0 +1,71 @@
+package Bench;
+
+import java.lang.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import GUI.Entity.Durability;
+import GUI.Entity.LogStore;
+
+// Registration latency and throughput for each durability mode, with several
+// threads appending student rows to a LogStore concurrently.
+//
+// Usage: java -cp bin Bench.RegistrationBench [threads] [registrations per thread]
+public class RegistrationBench {
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int perThread = args.length > 1 ? Integer.parseInt(args[1]) : 250;
+        System.out.printf("%d threads x %d registrations%n%n", threads, perThread);
+        System.out.printf("%-14s %12s %12s %12s %10s%n", "mode", "regs/s", "mean ms", "p99 ms", "fsyncs");
+        for (Durability durability : Durability.values()) {
+            run(durability, threads, perThread);
+        }
+    }
+
+    private static void run(Durability durability, int threads, int perThread) throws Exception {
+        Path dir = Files.createTempDirectory("registration-bench");
+        Path file = dir.resolve("students.csv");
+        try {
+            LogStore store = LogStore.forFile(file.toString(),
+                    "ID,Name,Age,Email,Department,Gender,Address,PhotoPath,RegistrationDate");
+            store.setDurability(durability);
+
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            List<Future<long[]>> results = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                results.add(pool.submit(() -> {
+                    long[] latencies = new long[perThread];
+                    for (int i = 0; i < perThread; i++) {
+                        int id = 100000 + thread * perThread + i;
+                        long begin = System.nanoTime();
+                        store.append("STU-" + id + ",Student " + id + ",21,student" + id
+                                + "@fox.edu,Engineering,Female,\"Tangail, Bangladesh\",,2025-06-11 22:59:13");
+                        latencies[i] = System.nanoTime() - begin;
+                    }
+                    return latencies;
+                }));
+            }
+            long[] all = new long[threads * perThread];
+            int n = 0;
+            for (Future<long[]> result : results) {
+                for (long latency : result.get()) {
+                    all[n++] = latency;
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            pool.shutdown();
+
+            Arrays.sort(all);
+            double mean = Arrays.stream(all).average().orElse(0) / 1e6;
+            double p99 = all[(int) Math.min(all.length - 1, Math.ceil(all.length * 0.99) - 1)] / 1e6;
+            System.out.printf("%-14s %,12.0f %12.3f %12.3f %,10d%n", durability,
+                    all.length / (elapsed / 1e9), mean, p99, store.getSyncCount());
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(dir);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package Bench;
+
+import java.lang.*;
+import java.util.*;
+import java.util.stream.Stream;
+import GUI.Entity.BatchResult;
+import GUI.Entity.Person;
+import GUI.Entity.Repository;
+
+// Generated student rows in the students.csv column order, for the search benchmarks,
+// and an in-memory repository to hold them as records
+final class Rosters {
+    static final String[] FIRST_NAMES = {"Farhan", "Fahim", "Nusrat", "Tasnim", "Rahim", "Karim", "Ayesha",
+            "Sadia", "Mehedi", "Tanvir", "Rafiq", "Shamima", "Arif", "Jannat", "Imran", "Sumaiya", "Hasan",
+            "Mim", "Rakib", "Nadia"};
+    static final String[] LAST_NAMES = {"Siddiqui", "Rahman", "Hossain", "Ahmed", "Islam", "Chowdhury",
+            "Khan", "Akter", "Begum", "Sarker", "Talukder", "Mia", "Uddin", "Haque", "Karim", "Alam"};
+    static final String[] DEPARTMENTS = {"Computer Science", "Engineering", "Mathematics", "Physics",
+            "Business", "English", "Economics", "Law"};
+    static final String[] CITIES = {"Dhaka", "Tangail", "Chittagong", "Sylhet", "Rajshahi", "Khulna",
+            "Barisal", "Rangpur", "Mymensingh", "Comilla"};
+
+    private Rosters() {
+    }
+
+    static List<String[]> students(int count, long seed) {
+        Random random = new Random(seed);
+        List<String[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            String id = "STU-" + (100000 + i);
+            rows.add(new String[] {
+                id,
+                first + " " + last,
+                String.valueOf(18 + random.nextInt(10)),
+                first.toLowerCase() + "." + last.toLowerCase() + i + "@fox.edu",
+                DEPARTMENTS[random.nextInt(DEPARTMENTS.length)],
+                random.nextBoolean() ? "Male" : "Female",
+                "House " + random.nextInt(200) + ", Road " + random.nextInt(50) + ", "
+                        + CITIES[random.nextInt(CITIES.length)] + ", Bangladesh",
+                "src\\userdata\\photos\\" + id + ".png",
+                String.format("2025-%02d-%02d 10:00:00", 1 + random.nextInt(12), 1 + random.nextInt(28))
+            });
+        }
+        return rows;
+    }
+
+    // Roster held in memory only; nothing is read from or written to disk
+    static final class InMemory extends Repository<Member> {
+        private final List<Member> members = new ArrayList<>();
+
+        InMemory(List<String[]> rows, String idPrefix) {
+            for (String[] row : rows) {
+                members.add(new Member(idPrefix + row[0].substring(4), row));
+            }
+            size();
+        }
+
+        @Override
+        protected Stream<Member> loadAll() {
+            return members.stream();
+        }
+
+        @Override
+        protected BatchResult<Member> saveAll(Collection<? extends Member> newRecords) {
+            throw new UnsupportedOperationException("Benchmark rosters are read-only");
+        }
+    }
+
+    static final class Member extends Person {
+        Member(String id, String[] row) {
+            super(id, row[1], row[2], row[3], row[4], row[5], row[6], row[7], row[8]);
+        }
+
+        @Override
+        public void saveToCSV() { }
+
+        @Override
+        public String generateId() { return id; }
+
+        @Override
+        public String getCSVHeader() { return ""; }
+
+        @Override
+        public String[] toRecord() {
+            return new String[] {id, name, age, email, department, gender, address, photoPath, registrationDate};
+        }
+
+        @Override
+        public void deleteFromCSV(String id) { }
+
+        @Override
+        public boolean update() { return false; }
+    }
+}
@@ -0,0 +1,74 @@
+package Bench;
+
+import java.lang.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import GUI.Entity.ParallelScan;
+import GUI.Entity.Person;
+import GUI.Entity.RosterQuery;
+
+// Scaling of the fork-join scan behind filter queries that no index can narrow:
+// the same predicate over the whole roster on pools of 1 to N workers
+// (500,000 records and N = available processors by default).
+//
+// Usage: java -cp bin Bench.ScanBench [records] [max workers]
+public class ScanBench {
+    private static final int RUNS = 10;
+    private static final String[] QUERIES = {"gender:Female", "-dept:Law address:sylhet",
+            "name:rahman OR email:siddiqui"};
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        int maxWorkers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        List<Person> roster = new ArrayList<>(count);
+        for (String[] row : Rosters.students(count, 42)) {
+            roster.add(new Rosters.Member(row[0], row));
+        }
+        System.out.printf("%,d records, %d processor(s) available%n", count,
+                Runtime.getRuntime().availableProcessors());
+
+        for (String text : QUERIES) {
+            RosterQuery query = RosterQuery.parse(text);
+            List<Person> expected = ParallelScan.filter(roster, query::test, new ForkJoinPool(1),
+                    ParallelScan.SEQUENTIAL_THRESHOLD);
+            System.out.printf("%n%s (%,d matches)%n%8s %12s %10s%n", text, expected.size(),
+                    "workers", "ms", "speedup");
+            double single = 0;
+            for (int workers : workerCounts(maxWorkers)) {
+                ForkJoinPool pool = new ForkJoinPool(workers);
+                if (!ParallelScan.filter(roster, query::test, pool, ParallelScan.SEQUENTIAL_THRESHOLD)
+                        .equals(expected)) {
+                    throw new IllegalStateException(workers + " workers returned a different result");
+                }
+                double ms = best(() -> ParallelScan.filter(roster, query::test, pool,
+                        ParallelScan.SEQUENTIAL_THRESHOLD));
+                if (workers == 1) {
+                    single = ms;
+                }
+                System.out.printf("%8d %12.1f %9.2fx%n", workers, ms, single / ms);
+                pool.shutdown();
+            }
+        }
+    }
+
+    // 1, 2, 4, ... up to and always including the maximum
+    private static List<Integer> workerCounts(int maxWorkers) {
+        List<Integer> counts = new ArrayList<>();
+        for (int workers = 1; workers < maxWorkers; workers *= 2) {
+            counts.add(workers);
+        }
+        counts.add(maxWorkers);
+        return counts;
+    }
+
+    private static double best(Runnable scan) {
+        scan.run();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            scan.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6;
+    }
+}
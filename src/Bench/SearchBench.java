@@ -0,0 +1,129 @@
+package Bench;
+
+import java.lang.*;
+import java.util.*;
+import GUI.Entity.FuzzyIndex;
+import GUI.Entity.NGramIndex;
+
+// Keyword search latency of the trigram index against the per-search lowercase
+// scan it replaced in StudentPanel and TeacherPanel, and of the BK-tree fuzzy name
+// search against comparing the query with every name (100,000 records by default).
+//
+// Usage: java -cp bin Bench.SearchBench [records]
+public class SearchBench {
+    private static final int RUNS = 20;
+    private static final String[] QUERIES = {"STU-1234", "siddiqui", "farhan.rahman", "Road 17, Sylhet",
+            "nusrat", "mathematics", "xyz"};
+    private static final String[] FUZZY_QUERIES = {"Farhaan", "Siddiqi", "Tanvir Hosain", "Chowdury", "Zzzzzz"};
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        List<String[]> rows = Rosters.students(count, 42);
+
+        long start = System.nanoTime();
+        NGramIndex<String[]> index = new NGramIndex<>(row -> row[0],
+                row -> new String[] { row[1], row[0], row[3], row[4], row[5], row[6] });
+        for (String[] row : rows) {
+            index.add(row);
+        }
+        System.out.printf("%,d records, index built in %.0f ms%n%n", count, (System.nanoTime() - start) / 1e6);
+
+        System.out.printf("%-18s %10s %14s %14s%n", "query", "matches", "scan us", "index us");
+        for (String query : QUERIES) {
+            int scanned = scan(rows, query).size();
+            int indexed = index.search(query).size();
+            if (scanned != indexed) {
+                throw new IllegalStateException("Index found " + indexed + " for '" + query + "', scan " + scanned);
+            }
+            System.out.printf("%-18s %,10d %,14.1f %,14.1f%n", query, indexed,
+                    best(() -> scan(rows, query)), best(() -> index.search(query)));
+        }
+
+        FuzzyIndex<String[]> names = new FuzzyIndex<>(row -> row[0], row -> Arrays.asList(row[1].split(" ")));
+        for (String[] row : rows) {
+            names.add(row);
+        }
+        System.out.printf("%n%-18s %10s %14s %14s%n", "fuzzy query", "matches", "scan us", "bk-tree us");
+        for (String query : FUZZY_QUERIES) {
+            int scanned = fuzzyScan(rows, query).size();
+            int indexed = names.search(query).size();
+            if (scanned != indexed) {
+                throw new IllegalStateException("BK-tree found " + indexed + " for '" + query + "', scan " + scanned);
+            }
+            System.out.printf("%-18s %,10d %,14.1f %,14.1f%n", query, indexed,
+                    best(() -> fuzzyScan(rows, query)), best(() -> names.search(query)));
+        }
+    }
+
+    // Every query word against every name word, with the same distance limits
+    private static List<String[]> fuzzyScan(List<String[]> rows, String query) {
+        String[] queryWords = query.toLowerCase().split(" ");
+        List<String[]> matches = new ArrayList<>();
+        for (String[] row : rows) {
+            String[] words = row[1].toLowerCase().split(" ");
+            boolean all = true;
+            for (String queryWord : queryWords) {
+                int limit = queryWord.length() < 4 ? 0 : queryWord.length() <= 7 ? 1 : 2;
+                boolean any = false;
+                for (String word : words) {
+                    if (levenshtein(queryWord, word) <= limit) {
+                        any = true;
+                        break;
+                    }
+                }
+                if (!any) {
+                    all = false;
+                    break;
+                }
+            }
+            if (all) {
+                matches.add(row);
+            }
+        }
+        return matches;
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    private static double best(Runnable search) {
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            search.run();
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+        return bestNanos / 1e3;
+    }
+
+    // The search previously done on every Enter in StudentPanel
+    private static List<String[]> scan(List<String[]> rows, String query) {
+        String searchTerm = query.trim().toLowerCase();
+        List<String[]> matches = new ArrayList<>();
+        for (String[] row : rows) {
+            if (row[1].toLowerCase().contains(searchTerm)
+                    || row[0].toLowerCase().contains(searchTerm)
+                    || row[3].toLowerCase().contains(searchTerm)
+                    || row[4].toLowerCase().contains(searchTerm)
+                    || row[5].toLowerCase().contains(searchTerm)
+                    || row[6].toLowerCase().contains(searchTerm)) {
+                matches.add(row);
+            }
+        }
+        return matches;
+    }
+}
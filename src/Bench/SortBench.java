@@ -0,0 +1,81 @@
+package Bench;
+
+import java.lang.*;
+import java.text.Collator;
+import java.util.*;
+import GUI.Entity.Page;
+import GUI.Entity.RosterOrder;
+import GUI.Entity.SortedIndex;
+
+// Cost of switching the roster view's sort order (100,000 records by default):
+// the first page of 50 from the maintained sorted index, paging on from a cursor,
+// and, for comparison, sorting the whole roster with a Collator the way a view
+// without the index would on every switch.
+//
+// Usage: java -cp bin Bench.SortBench [records]
+public class SortBench {
+    private static final int RUNS = 20;
+    private static final int SORT_RUNS = 3; // a collated sort of the roster takes seconds
+    private static final int PAGE_SIZE = 50;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        long start = System.nanoTime();
+        Rosters.InMemory roster = new Rosters.InMemory(Rosters.students(count, 42), "STU-");
+        System.out.printf("%,d records, indexed in %.0f ms%n%n", roster.size(), (System.nanoTime() - start) / 1e6);
+
+        System.out.printf("%-14s %14s %16s %16s%n", "order", "first page us", "next 20 pages us", "full sort us");
+        for (RosterOrder order : RosterOrder.values()) {
+            double first = best(() -> roster.page(order, null, PAGE_SIZE, member -> true));
+            double paging = best(() -> {
+                SortedIndex.Cursor cursor = roster.page(order, null, PAGE_SIZE, member -> true).getNext();
+                for (int i = 0; i < 20 && cursor != null; i++) {
+                    cursor = roster.page(order, cursor, PAGE_SIZE, member -> true).getNext();
+                }
+            });
+            System.out.printf("%-14s %,14.1f %,16.1f %,16.1f%n", order, first, paging,
+                    best(() -> fullSort(roster, order), SORT_RUNS));
+        }
+
+        Page<Rosters.Member> law = roster.page(RosterOrder.NAME, null, PAGE_SIZE,
+                member -> "Law".equals(member.getDepartment()));
+        System.out.printf("%nFirst page of Law by name (filtered walk): %,.1f us, first %s%n",
+                best(() -> roster.page(RosterOrder.NAME, null, PAGE_SIZE, member -> "Law".equals(member.getDepartment()))),
+                law.getRecords().get(0).getName());
+    }
+
+    private static List<Rosters.Member> fullSort(Rosters.InMemory roster, RosterOrder order) {
+        List<Rosters.Member> all = roster.getAll();
+        Collator collator = Collator.getInstance();
+        switch (order) {
+            case NAME:
+                all.sort((a, b) -> collator.compare(a.getName(), b.getName()));
+                break;
+            case NEWEST:
+                all.sort(Comparator.comparing(Rosters.Member::getRegistrationDate).reversed());
+                break;
+            case AGE:
+                all.sort(Comparator.comparing(member -> Integer.valueOf(member.getAge())));
+                break;
+            default:
+                all.sort(Comparator.comparing(Rosters.Member::getId));
+                break;
+        }
+        return all.subList(0, PAGE_SIZE);
+    }
+
+    private static double best(Runnable run) {
+        return best(run, RUNS);
+    }
+
+    private static double best(Runnable run, int runs) {
+        run.run();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            run.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e3;
+    }
+}
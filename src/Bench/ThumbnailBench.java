@@ -0,0 +1,71 @@
+package Bench;
+
+import java.lang.*;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import javax.imageio.ImageIO;
+import GUI.Entity.Thumbnails;
+
+// Time to turn each stored photo into an 80x100 card thumbnail: the ImageIcon and
+// getScaledInstance(SCALE_SMOOTH) path the roster cards used on the EDT, against
+// decoding and scaling with Thumbnails, and against reading the 80x100 sidecar that
+// Thumbnails.read prefers (written here first if missing). The scaled image is painted
+// once, since getScaledInstance does its work when first drawn.
+//
+// Usage: java -cp bin Bench.ThumbnailBench [photos directory]
+public class ThumbnailBench {
+    private static final int RUNS = 5;
+    private static final int WIDTH = 80;
+    private static final int HEIGHT = 100;
+
+    public static void main(String[] args) {
+        File directory = new File(args.length > 0 ? args[0] : "src/userdata/photos");
+        File[] photos = directory.listFiles(file -> file.getName().matches("(?i).*\\.(png|jpe?g|gif)"));
+        if (photos == null || photos.length == 0) {
+            System.err.println("No photos in " + directory);
+            return;
+        }
+        System.out.printf("%-20s %10s %16s %16s %12s%n", "photo", "KB", "scale smooth ms", "bilinear ms",
+                "sidecar ms");
+        for (File photo : photos) {
+            String path = photo.getPath();
+            Thumbnails.writeSidecars(path);
+            System.out.printf("%-20s %,10d %,16.1f %,16.1f %,12.1f%n", photo.getName(), photo.length() / 1024,
+                    best(() -> scaleSmooth(path)), best(() -> bilinear(photo)),
+                    best(() -> Thumbnails.read(path, WIDTH, HEIGHT)));
+        }
+    }
+
+    private static double best(Runnable load) {
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            load.run();
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+        return bestNanos / 1e6;
+    }
+
+    private static void bilinear(File photo) {
+        try {
+            Thumbnails.scale(ImageIO.read(photo), WIDTH, HEIGHT);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read " + photo, e);
+        }
+    }
+
+    // What createPhotoLabel did for every card
+    private static void scaleSmooth(String path) {
+        Image img = new ImageIcon(path).getImage();
+        Image scaledImg = img.getScaledInstance(WIDTH, HEIGHT, Image.SCALE_SMOOTH);
+        ImageIcon icon = new ImageIcon(scaledImg); // waits for the scaled image to be produced
+        BufferedImage target = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+        icon.paintIcon(null, g, 0, 0);
+        g.dispose();
+        img.flush(); // ImageIcon caches by path; decode again on the next run as a new card would
+    }
+}
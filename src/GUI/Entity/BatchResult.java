@@ -0,0 +1,30 @@
+package GUI.Entity;
+
+import java.lang.*;
+import java.util.*;
+
+// Outcome of a batch save: which records were written and why the others were not
+public class BatchResult<T extends Person> {
+    private final List<T> saved = new ArrayList<>();
+    private final Set<Person> savedSet = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<Person, String> failed = new LinkedHashMap<>();
+
+    void addSaved(T record) {
+        saved.add(record);
+        savedSet.add(record);
+    }
+
+    void addFailure(Person record, String reason) {
+        failed.put(record, reason);
+    }
+
+    public List<T> getSaved() { return Collections.unmodifiableList(saved); }
+    public Map<Person, String> getFailed() { return Collections.unmodifiableMap(failed); }
+
+    public boolean isSaved(Person record) {
+        return savedSet.contains(record);
+    }
+
+    public int getSavedCount() { return saved.size(); }
+    public int getFailedCount() { return failed.size(); }
+}
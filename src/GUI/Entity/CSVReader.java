@@ -0,0 +1,238 @@
+package GUI.Entity;
+
+import java.lang.*;
+import java.io.*;
+import java.util.*;
+
+// Streaming RFC 4180 CSV reader shared by every roster loader.
+// Records are parsed straight out of one reusable char buffer: quoted fields are
+// unescaped in place, so each field is a contiguous slice of the buffer and no
+// per-field builder or per-line String is allocated. Quoted fields may contain
+// commas, doubled quotes and line breaks. Slices returned by field() are only
+// valid until the next call to next().
+public class CSVReader implements Closeable {
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final Reader in;
+    private char[] buffer;
+    private int position;   // start of the next unread record
+    private int limit;      // end of valid data in buffer
+    private boolean eof;
+
+    private int[] fieldStart = new int[16];
+    private int[] fieldEnd = new int[16];
+    private Slice[] slices = new Slice[16];
+    private int fieldCount;
+
+    public CSVReader(Reader in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    public CSVReader(Reader in, int bufferSize) {
+        this.in = in;
+        this.buffer = new char[Math.max(bufferSize, 16)];
+    }
+
+    // Parse a single CSV row held in memory
+    public static String[] parseLine(String line) {
+        try (CSVReader reader = new CSVReader(new StringReader(line), line.length() + 2)) {
+            if (!reader.next()) {
+                return new String[] { "" };
+            }
+            String[] fields = new String[reader.fieldCount()];
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = reader.get(i);
+            }
+            return fields;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Advance to the next non-empty record; false at end of input
+    public boolean next() throws IOException {
+        while (true) {
+            int end = findRecordEnd();
+            if (end < 0) {
+                fieldCount = 0;
+                return false;
+            }
+            int recordStart = position;
+            int recordEnd = end;
+            position = end < limit ? end + 1 : end; // skip the '\n'
+            if (recordEnd > recordStart && buffer[recordEnd - 1] == '\r') {
+                recordEnd--;
+            }
+            if (recordEnd > recordStart) {
+                splitFields(recordStart, recordEnd);
+                return true;
+            }
+        }
+    }
+
+    public int fieldCount() { return fieldCount; }
+
+    // Zero-copy view of a field of the current record
+    public CharSequence field(int index) {
+        checkIndex(index);
+        Slice slice = slices[index];
+        if (slice == null) {
+            slice = slices[index] = new Slice();
+        }
+        slice.start = fieldStart[index];
+        slice.end = fieldEnd[index];
+        return slice;
+    }
+
+    // Field of the current record as a new String
+    public String get(int index) {
+        checkIndex(index);
+        return new String(buffer, fieldStart[index], fieldEnd[index] - fieldStart[index]);
+    }
+
+    public boolean fieldEquals(int index, String value) {
+        checkIndex(index);
+        int length = fieldEnd[index] - fieldStart[index];
+        if (length != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer[fieldStart[index] + i] != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // All fields of the current record as Strings
+    public String[] toArray() {
+        String[] fields = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            fields[i] = get(i);
+        }
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // Index of the '\n' that ends the record starting at position (or limit at end
+    // of input), refilling the buffer as needed; -1 when no data is left
+    private int findRecordEnd() throws IOException {
+        boolean inQuotes = false;
+        int i = position;
+        while (true) {
+            while (i < limit) {
+                char c = buffer[i];
+                if (c == '"') {
+                    inQuotes = !inQuotes;
+                } else if (c == '\n' && !inQuotes) {
+                    return i;
+                }
+                i++;
+            }
+            int scanned = i - position;
+            if (!fill()) {
+                return position < limit ? limit : -1;
+            }
+            i = position + scanned;
+        }
+    }
+
+    // Move the unread data to the front of the buffer and read more; false at end of input
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        int remaining = limit - position;
+        if (remaining == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        } else if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, remaining);
+        }
+        position = 0;
+        limit = remaining;
+        int read = in.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            eof = true;
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+
+    // Record the field boundaries of [start, end), unescaping quoted fields in place
+    private void splitFields(int start, int end) {
+        fieldCount = 0;
+        int i = start;
+        while (true) {
+            int fieldBegin = i;
+            int write = i;
+            boolean inQuotes = false;
+            while (i < end) {
+                char c = buffer[i];
+                if (c == '"') {
+                    if (inQuotes && i + 1 < end && buffer[i + 1] == '"') {
+                        buffer[write++] = '"';
+                        i += 2;
+                        continue;
+                    }
+                    inQuotes = !inQuotes;
+                    i++;
+                    continue;
+                }
+                if (c == ',' && !inQuotes) {
+                    break;
+                }
+                buffer[write++] = c;
+                i++;
+            }
+            addField(fieldBegin, write);
+            if (i >= end) {
+                return;
+            }
+            i++; // skip the ','
+        }
+    }
+
+    private void addField(int start, int end) {
+        if (fieldCount == fieldStart.length) {
+            fieldStart = Arrays.copyOf(fieldStart, fieldCount * 2);
+            fieldEnd = Arrays.copyOf(fieldEnd, fieldCount * 2);
+            slices = Arrays.copyOf(slices, fieldCount * 2);
+        }
+        fieldStart[fieldCount] = start;
+        fieldEnd[fieldCount] = end;
+        fieldCount++;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= fieldCount) {
+            throw new IndexOutOfBoundsException("Field " + index + " of " + fieldCount);
+        }
+    }
+
+    // Reusable view over part of the buffer
+    private final class Slice implements CharSequence {
+        private int start;
+        private int end;
+
+        @Override
+        public int length() { return end - start; }
+
+        @Override
+        public char charAt(int index) { return buffer[start + index]; }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return new String(buffer, start + from, to - from);
+        }
+
+        @Override
+        public String toString() {
+            return new String(buffer, start, end - start);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package GUI.Entity;
+
+import java.lang.*;
+import java.io.*;
+
+// Group commit for one LogStore.
+// Every write gets a sequence number. A background thread collects pending writes
+// until maxRecords are pending, maxDelayMillis have passed, or every pending write
+// already has its writer blocked waiting (nobody else is about to join), then
+// issues one fsync that makes all of them durable and wakes every writer it
+// covered. Writes arriving during an fsync form the next group.
+class CommitQueue {
+    interface Syncer {
+        void sync() throws IOException;
+    }
+
+    private final String name;
+    private final Syncer syncer;
+    private Thread committer;
+
+    private long written;
+    private long durable;
+    private int waiting;
+    private long failedFrom;
+    private long failedTo;
+    private IOException failure;
+
+    private int maxDelayMillis;
+    private int maxRecords;
+
+    CommitQueue(String name, Syncer syncer, int maxDelayMillis, int maxRecords) {
+        this.name = name;
+        this.syncer = syncer;
+        configure(maxDelayMillis, maxRecords);
+    }
+
+    synchronized void configure(int maxDelayMillis, int maxRecords) {
+        this.maxDelayMillis = Math.max(0, maxDelayMillis);
+        this.maxRecords = Math.max(1, maxRecords);
+    }
+
+    // Register a write that has reached the OS and return its sequence number
+    synchronized long recordWrite() {
+        written++;
+        notifyAll();
+        return written;
+    }
+
+    // Everything written so far is durable by other means (e.g. a synced rewrite)
+    synchronized void markAllDurable() {
+        durable = written;
+        notifyAll();
+    }
+
+    // Block until the write with the given sequence number has been synced
+    void awaitDurable(long sequence) throws IOException {
+        synchronized (this) {
+            if (committer == null) {
+                committer = new Thread(this::run, "CommitQueue-" + name);
+                committer.setDaemon(true);
+                committer.start();
+            }
+            boolean interrupted = false;
+            waiting++;
+            notifyAll();
+            while (durable < sequence) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            waiting--;
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure != null && sequence >= failedFrom && sequence <= failedTo) {
+                throw new IOException("Failed to sync " + name, failure);
+            }
+        }
+    }
+
+    private void run() {
+        while (true) {
+            long from;
+            long target;
+            synchronized (this) {
+                try {
+                    while (written == durable) {
+                        wait();
+                    }
+                    // Collect more writers until the group is full or the window closes
+                    long deadline = System.currentTimeMillis() + maxDelayMillis;
+                    long remaining;
+                    while (written - durable < maxRecords && waiting < written - durable
+                            && (remaining = deadline - System.currentTimeMillis()) > 0) {
+                        wait(remaining);
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                from = durable + 1;
+                target = written;
+            }
+
+            IOException error = null;
+            try {
+                syncer.sync();
+            } catch (IOException e) {
+                error = e;
+                System.err.println("Error syncing " + name + ": " + e.getMessage());
+            }
+
+            synchronized (this) {
+                if (error != null) {
+                    failure = error;
+                    failedFrom = from;
+                    failedTo = target;
+                }
+                durable = Math.max(durable, target);
+                notifyAll();
+            }
+        }
+    }
+}
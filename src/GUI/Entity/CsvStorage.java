@@ -0,0 +1,87 @@
+package GUI.Entity;
+
+import java.lang.*;
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.Stream;
+
+// StorageBackend on top of the append-only CSV log, with the binary record file
+// as a fast read path while it is still a snapshot of the CSV
+public class CsvStorage implements StorageBackend {
+    private final LogStore store;
+    private final Path recordFile;
+
+    public CsvStorage(String csvFile, String[] columns, String recordFile) {
+        this.store = LogStore.forFile(csvFile, LogStore.toRow(columns));
+        this.recordFile = recordFile != null ? Paths.get(recordFile) : null;
+    }
+
+    @Override
+    public Stream<String[]> streamAll() throws IOException {
+        // A binary snapshot of the unchanged CSV is decoded instead of parsed
+        if (recordFile != null && Files.exists(recordFile)) {
+            try {
+                RecordFile records = RecordFile.open(recordFile);
+                if (records.isSnapshotOf(store.getPath())) {
+                    return records.stream().onClose(() -> closeQuietly(records));
+                }
+                records.close();
+            } catch (IOException e) {
+                System.err.println("Error reading " + recordFile + ": " + e.getMessage());
+            }
+        }
+        // Replay the log so deleted and superseded rows are skipped
+        return store.readLive().stream();
+    }
+
+    @Override
+    public String[] findById(String id) throws IOException {
+        if (!store.contains(id)) {
+            return null;
+        }
+        for (String[] record : store.readLive()) {
+            if (record[0].equals(id)) {
+                return record;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Set<String> getIds() throws IOException {
+        return store.getLiveIds();
+    }
+
+    @Override
+    public void put(String[] record) throws IOException {
+        store.append(LogStore.toRow(record));
+    }
+
+    @Override
+    public boolean update(String[] record) throws IOException {
+        return store.update(LogStore.toRow(record));
+    }
+
+    @Override
+    public boolean[] insertAll(List<String[]> records) throws IOException {
+        List<String> rows = new ArrayList<>(records.size());
+        for (String[] record : records) {
+            rows.add(LogStore.toRow(record));
+        }
+        return store.insertAll(rows);
+    }
+
+    @Override
+    public boolean delete(String id) throws IOException {
+        return store.delete(id);
+    }
+
+    private void closeQuietly(RecordFile records) {
+        try {
+            records.close();
+        } catch (IOException e) {
+            System.err.println("Error closing " + recordFile + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package GUI.Entity;
+
+import java.lang.*;
+
+// How hard LogStore works to get an acknowledged write onto the disk
+public enum Durability {
+    // Written to the OS only; survives an application crash but not a power loss
+    NONE,
+    // Writers wait for a shared fsync that covers every write made in the last
+    // few milliseconds, so concurrent registrations pay for one sync together
+    GROUP_COMMIT,
+    // Every write is followed by its own fsync
+    SYNC;
+
+    // Parse the value of the fox.durability system property
+    public static Durability fromName(String name, Durability fallback) {
+        if (name == null) {
+            return fallback;
+        }
+        switch (name.trim().toLowerCase()) {
+            case "none": return NONE;
+            case "group": return GROUP_COMMIT;
+            case "sync": return SYNC;
+            default:
+                System.err.println("Unknown durability mode '" + name + "', using " + fallback);
+                return fallback;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package GUI.Entity;
+
+import java.lang.*;
+import java.util.*;
+
+// Live record counts per facet value (e.g. Gender -> Female -> 12).
+// Each add or remove adjusts one counter per facet of the record, so the counts
+// are always current without rescanning the roster. Empty values are not counted,
+// and a value whose count drops to zero disappears from its facet.
+public class FacetCounts {
+    private final Map<String, Map<String, int[]>> counts = new HashMap<>();
+
+    public synchronized void add(Person record) {
+        for (Map.Entry<String, String> facet : record.getFacets().entrySet()) {
+            if (!isEmpty(facet.getValue())) {
+                counts.computeIfAbsent(facet.getKey(), k -> new HashMap<>())
+                        .computeIfAbsent(facet.getValue(), k -> new int[1])[0]++;
+            }
+        }
+    }
+
+    public synchronized void remove(Person record) {
+        for (Map.Entry<String, String> facet : record.getFacets().entrySet()) {
+            Map<String, int[]> values = counts.get(facet.getKey());
+            int[] count = values != null && !isEmpty(facet.getValue()) ? values.get(facet.getValue()) : null;
+            if (count != null && --count[0] == 0) {
+                values.remove(facet.getValue());
+            }
+        }
+    }
+
+    // Records with the value, 0 if none
+    public synchronized int count(String facet, String value) {
+        Map<String, int[]> values = counts.get(facet);
+        int[] count = values != null ? values.get(value) : null;
+        return count != null ? count[0] : 0;
+    }
+
+    // Every value of the facet with its count, in alphabetical order
+    public synchronized SortedMap<String, Integer> counts(String facet) {
+        SortedMap<String, Integer> snapshot = new TreeMap<>();
+        Map<String, int[]> values = counts.get(facet);
+        if (values != null) {
+            values.forEach((value, count) -> snapshot.put(value, count[0]));
+        }
+        return snapshot;
+    }
+
+    private static boolean isEmpty(String value) {
+        return value == null || value.isEmpty();
+    }
+}
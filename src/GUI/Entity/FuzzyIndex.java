@@ -0,0 +1,218 @@
+package GUI.Entity;
+
+import java.lang.*;
+import java.util.*;
+import java.util.function.Function;
+
+// Typo-tolerant lookup of records by the words of a name.
+// Distinct words are kept in a BK-tree keyed on Levenshtein distance, so a query
+// word only visits the subtrees that can hold words within the allowed distance
+// instead of comparing against every word. Each word maps to the records that use
+// it. A record matches when every query word is within reach of one of its words,
+// and matches are ranked by the summed distance, then by the order they were added.
+//
+// Words are never removed from the tree; a word whose last record is gone just
+// maps to nothing, and the tree only grows with new distinct spellings.
+public class FuzzyIndex<T> {
+    private final Function<T, String> keyOf;
+    private final Function<T, Collection<String>> wordsOf;
+
+    private Node root;
+    private final Map<String, Set<T>> recordsByWord = new HashMap<>();
+    private final Map<String, Entry<T>> entries = new HashMap<>();
+    private long nextSequence;
+
+    public FuzzyIndex(Function<T, String> keyOf, Function<T, Collection<String>> wordsOf) {
+        this.keyOf = keyOf;
+        this.wordsOf = wordsOf;
+    }
+
+    public synchronized void add(T record) {
+        String key = keyOf.apply(record);
+        remove(key);
+        Set<String> words = new LinkedHashSet<>();
+        for (String word : wordsOf.apply(record)) {
+            String normalized = normalize(word);
+            if (!normalized.isEmpty()) {
+                words.add(normalized);
+            }
+        }
+        for (String word : words) {
+            Set<T> records = recordsByWord.get(word);
+            if (records == null) {
+                records = new LinkedHashSet<>();
+                recordsByWord.put(word, records);
+                insert(word);
+            }
+            records.add(record);
+        }
+        entries.put(key, new Entry<>(record, words, nextSequence++));
+    }
+
+    public synchronized void remove(String key) {
+        Entry<T> entry = entries.remove(key);
+        if (entry == null) {
+            return;
+        }
+        for (String word : entry.words) {
+            recordsByWord.get(word).remove(entry.record);
+        }
+    }
+
+    // Records whose words are all within the allowed distance of the query's words, closest first
+    public synchronized List<T> search(String query) {
+        String[] queryWords = normalize(query).split(" ");
+        Map<T, Integer> distances = null;
+        for (String queryWord : queryWords) {
+            if (queryWord.isEmpty()) {
+                continue;
+            }
+            Map<T, Integer> wordDistances = new LinkedHashMap<>();
+            for (Map.Entry<String, Integer> match : nearWords(queryWord, maxDistance(queryWord)).entrySet()) {
+                for (T record : recordsByWord.get(match.getKey())) {
+                    wordDistances.merge(record, match.getValue(), Math::min);
+                }
+            }
+            if (distances == null) {
+                distances = wordDistances;
+            } else {
+                // Keep only records matching every word so far
+                Map<T, Integer> combined = new LinkedHashMap<>();
+                for (Map.Entry<T, Integer> record : distances.entrySet()) {
+                    Integer distance = wordDistances.get(record.getKey());
+                    if (distance != null) {
+                        combined.put(record.getKey(), record.getValue() + distance);
+                    }
+                }
+                distances = combined;
+            }
+            if (distances.isEmpty()) {
+                break;
+            }
+        }
+        if (distances == null) {
+            return new ArrayList<>();
+        }
+        List<Map.Entry<T, Integer>> ranked = new ArrayList<>(distances.entrySet());
+        ranked.sort(Comparator.<Map.Entry<T, Integer>>comparingInt(Map.Entry::getValue)
+                .thenComparingLong(match -> entries.get(keyOf.apply(match.getKey())).sequence));
+        List<T> matches = new ArrayList<>(ranked.size());
+        for (Map.Entry<T, Integer> match : ranked) {
+            matches.add(match.getKey());
+        }
+        return matches;
+    }
+
+    // Short words allow no typo, medium ones one and long ones two
+    static int maxDistance(String word) {
+        if (word.length() < 4) {
+            return 0;
+        }
+        return word.length() <= 7 ? 1 : 2;
+    }
+
+    // Words within maxDistance of the query word, with their distance
+    private Map<String, Integer> nearWords(String word, int maxDistance) {
+        Map<String, Integer> near = new HashMap<>();
+        if (root == null) {
+            return near;
+        }
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            // Children sit at distance maxChildKey at most, so nothing beyond
+            // maxDistance + maxChildKey needs to be computed exactly
+            int distance = distance(word, node.word, maxDistance + node.maxChildKey);
+            if (distance <= maxDistance && !recordsByWord.get(node.word).isEmpty()) {
+                near.put(node.word, distance);
+            }
+            if (node.children == null) {
+                continue;
+            }
+            // Triangle inequality: only children at |key - distance| <= maxDistance can match
+            for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                if (Math.abs(child.getKey() - distance) <= maxDistance) {
+                    pending.push(child.getValue());
+                }
+            }
+        }
+        return near;
+    }
+
+    private void insert(String word) {
+        if (root == null) {
+            root = new Node(word);
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = distance(word, node.word, Integer.MAX_VALUE);
+            if (node.children == null) {
+                node.children = new HashMap<>();
+            }
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node(word));
+                node.maxChildKey = Math.max(node.maxChildKey, distance);
+                return;
+            }
+            node = child;
+        }
+    }
+
+    // Levenshtein distance, or any value above bound once it is certain to exceed it
+    static int distance(String a, String b, int bound) {
+        if (Math.abs(a.length() - b.length()) > bound) {
+            return bound + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > bound) {
+                return bound + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Node {
+        private final String word;
+        private Map<Integer, Node> children;
+        private int maxChildKey;
+
+        Node(String word) {
+            this.word = word;
+        }
+    }
+
+    private static final class Entry<T> {
+        private final T record;
+        private final Set<String> words;
+        private final long sequence;
+
+        Entry(T record, Set<String> words, long sequence) {
+            this.record = record;
+            this.words = words;
+            this.sequence = sequence;
+        }
+    }
+}
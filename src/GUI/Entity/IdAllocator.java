@@ -0,0 +1,111 @@
+package GUI.Entity;
+
+import java.lang.*;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.Supplier;
+
+// Collision-free allocator for the 6-digit part of IDs such as "STU-143470".
+// Numbers are handed out from blocks reserved from a persisted sequence file under
+// an exclusive file lock, so separate app instances and restarts never get the same
+// block. IDs already in the roster (e.g. older random ones) are tracked in a BitSet
+// over the whole 900,000 number range (about 112 KB) and skipped.
+public class IdAllocator {
+    private static final int MIN_NUMBER = 100000;
+    private static final int MAX_NUMBER = 999999;
+    private static final int RANGE = MAX_NUMBER - MIN_NUMBER + 1;
+    private static final int BLOCK_SIZE = 100;
+
+    private final String prefix;
+    private final Path sequenceFile;
+    private final Supplier<Collection<String>> existingIds;
+
+    private BitSet used;
+    private int next;       // next number of the current block
+    private int blockEnd;   // exclusive end of the current block
+
+    public IdAllocator(String prefix, String sequenceFile, Supplier<Collection<String>> existingIds) {
+        this.prefix = prefix;
+        this.sequenceFile = Paths.get(sequenceFile);
+        this.existingIds = existingIds;
+    }
+
+    // Allocate a new, unused ID such as "STU-100042"
+    public synchronized String allocate() {
+        if (used == null) {
+            loadUsed();
+        }
+        if (used.cardinality() >= RANGE) {
+            throw new IllegalStateException("All " + prefix + " IDs are in use");
+        }
+        while (true) {
+            while (next < blockEnd) {
+                int number = next++;
+                if (!used.get(number - MIN_NUMBER)) {
+                    used.set(number - MIN_NUMBER);
+                    return prefix + "-" + number;
+                }
+            }
+            reserveBlock();
+        }
+    }
+
+    private void loadUsed() {
+        used = new BitSet(RANGE);
+        for (String id : existingIds.get()) {
+            int number = parseNumber(id);
+            if (number >= 0) {
+                used.set(number - MIN_NUMBER);
+            }
+        }
+    }
+
+    // Claim the next block of numbers from the shared sequence file
+    private void reserveBlock() {
+        try {
+            Files.createDirectories(sequenceFile.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(sequenceFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileLock lock = channel.lock()) {
+                ByteBuffer content = ByteBuffer.allocate((int) channel.size());
+                while (content.hasRemaining() && channel.read(content) >= 0) {
+                    // keep reading
+                }
+                String text = new String(content.array(), StandardCharsets.UTF_8).trim();
+                int start = text.isEmpty() ? MIN_NUMBER : Integer.parseInt(text);
+                if (start > MAX_NUMBER) {
+                    // Wrapped around: numbers freed since then are found through a fresh roster scan
+                    start = MIN_NUMBER;
+                    loadUsed();
+                }
+                int end = Math.min(start + BLOCK_SIZE, MAX_NUMBER + 1);
+
+                channel.truncate(0);
+                channel.write(ByteBuffer.wrap((end + System.lineSeparator()).getBytes(StandardCharsets.UTF_8)), 0);
+                channel.force(true);
+
+                next = start;
+                blockEnd = end;
+            }
+        } catch (IOException | NumberFormatException e) {
+            throw new RuntimeException("Failed to reserve " + prefix + " IDs from " + sequenceFile, e);
+        }
+    }
+
+    private int parseNumber(String id) {
+        if (id == null || !id.startsWith(prefix + "-")) {
+            return -1;
+        }
+        try {
+            int number = Integer.parseInt(id.substring(prefix.length() + 1));
+            return number >= MIN_NUMBER && number <= MAX_NUMBER ? number : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
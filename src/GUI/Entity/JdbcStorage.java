@@ -0,0 +1,264 @@
+package GUI.Entity;
+
+import java.lang.*;
+import java.io.*;
+import java.sql.*;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.*;
+
+// StorageBackend that keeps a roster in a table of an embedded SQL database reached
+// through JDBC (for example H2 or SQLite in file mode). The ID column is the primary
+// key and Email and Department are indexed when the roster has them. Every operation
+// uses its own connection, so readers never wait on each other, and deletes and
+// batch inserts run in a transaction.
+public class JdbcStorage implements StorageBackend {
+    private static final int VALUE_LENGTH = 4000;
+
+    private final String url;
+    private final String table;
+    private final String[] columns;
+    private final String selectAll;
+    private final String selectById;
+    private final String insert;
+    private final String deleteById;
+    private final String updateById;
+
+    public JdbcStorage(String url, String table, String[] columns) throws SQLException {
+        this.url = url;
+        this.table = checkName(table);
+        this.columns = columns.clone();
+        for (String column : this.columns) {
+            checkName(column);
+        }
+        String columnList = String.join(", ", this.columns);
+        String placeholders = String.join(", ", Collections.nCopies(this.columns.length, "?"));
+        selectAll = "SELECT " + columnList + " FROM " + table + " ORDER BY " + this.columns[0];
+        selectById = "SELECT " + columnList + " FROM " + table + " WHERE " + this.columns[0] + " = ?";
+        insert = "INSERT INTO " + table + " (" + columnList + ") VALUES (" + placeholders + ")";
+        deleteById = "DELETE FROM " + table + " WHERE " + this.columns[0] + " = ?";
+        updateById = "UPDATE " + table + " SET "
+                + Arrays.stream(this.columns, 1, this.columns.length).map(c -> c + " = ?").collect(Collectors.joining(", "))
+                + " WHERE " + this.columns[0] + " = ?";
+        createTable();
+    }
+
+    public String getUrl() { return url; }
+    public String getTable() { return table; }
+
+    @Override
+    public Stream<String[]> streamAll() throws IOException {
+        // Rows are read from the open result set as the stream is consumed
+        Connection connection = null;
+        try {
+            connection = connect();
+            PreparedStatement statement = connection.prepareStatement(selectAll);
+            ResultSet results = statement.executeQuery();
+            Connection open = connection;
+            Spliterator<String[]> rows = new Spliterators.AbstractSpliterator<String[]>(
+                    Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super String[]> action) {
+                    try {
+                        if (!results.next()) {
+                            return false;
+                        }
+                        action.accept(readRow(results));
+                        return true;
+                    } catch (SQLException e) {
+                        throw new UncheckedIOException(new IOException(e.getMessage(), e));
+                    }
+                }
+            };
+            return StreamSupport.stream(rows, false).onClose(() -> closeQuietly(open));
+        } catch (SQLException e) {
+            closeQuietly(connection);
+            throw new IOException("Failed to read " + table + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String[] findById(String id) throws IOException {
+        try (Connection connection = connect();
+             PreparedStatement statement = connection.prepareStatement(selectById)) {
+            statement.setString(1, id);
+            try (ResultSet results = statement.executeQuery()) {
+                return results.next() ? readRow(results) : null;
+            }
+        } catch (SQLException e) {
+            throw new IOException("Failed to read " + id + " from " + table + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Set<String> getIds() throws IOException {
+        Set<String> ids = new HashSet<>();
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement();
+             ResultSet results = statement.executeQuery("SELECT " + columns[0] + " FROM " + table)) {
+            while (results.next()) {
+                ids.add(results.getString(1));
+            }
+        } catch (SQLException e) {
+            throw new IOException("Failed to read IDs from " + table + ": " + e.getMessage(), e);
+        }
+        return ids;
+    }
+
+    @Override
+    public void put(String[] record) throws IOException {
+        // Delete and insert in one transaction: the portable form of an upsert
+        try (Connection connection = connect()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement delete = connection.prepareStatement(deleteById);
+                 PreparedStatement statement = connection.prepareStatement(insert)) {
+                delete.setString(1, record[0]);
+                delete.executeUpdate();
+                bind(statement, record);
+                statement.executeUpdate();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IOException("Failed to save " + record[0] + " to " + table + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean update(String[] record) throws IOException {
+        try (Connection connection = connect();
+             PreparedStatement statement = connection.prepareStatement(updateById)) {
+            for (int i = 1; i < columns.length; i++) {
+                String value = i < record.length && record[i] != null ? record[i] : "";
+                statement.setString(i, value);
+            }
+            statement.setString(columns.length, record[0]);
+            return statement.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw new IOException("Failed to update " + record[0] + " in " + table + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean[] insertAll(List<String[]> records) throws IOException {
+        boolean[] inserted = new boolean[records.size()];
+        try (Connection connection = connect()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement exists = connection.prepareStatement(selectById);
+                 PreparedStatement statement = connection.prepareStatement(insert)) {
+                Set<String> batchIds = new HashSet<>();
+                int accepted = 0;
+                for (int i = 0; i < records.size(); i++) {
+                    String[] record = records.get(i);
+                    if (!batchIds.add(record[0]) || exists(exists, record[0])) {
+                        continue;
+                    }
+                    bind(statement, record);
+                    statement.addBatch();
+                    inserted[i] = true;
+                    accepted++;
+                }
+                if (accepted > 0) {
+                    statement.executeBatch();
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IOException("Failed to save records to " + table + ": " + e.getMessage(), e);
+        }
+        return inserted;
+    }
+
+    @Override
+    public boolean delete(String id) throws IOException {
+        try (Connection connection = connect()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(deleteById)) {
+                statement.setString(1, id);
+                int deleted = statement.executeUpdate();
+                connection.commit();
+                return deleted > 0;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IOException("Failed to delete " + id + " from " + table + ": " + e.getMessage(), e);
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(url);
+    }
+
+    private void createTable() throws SQLException {
+        StringBuilder ddl = new StringBuilder("CREATE TABLE IF NOT EXISTS ").append(table).append(" (");
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                ddl.append(", ");
+            }
+            ddl.append(columns[i]).append(" VARCHAR(").append(VALUE_LENGTH).append(")");
+            if (i == 0) {
+                ddl.append(" PRIMARY KEY");
+            }
+        }
+        ddl.append(")");
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate(ddl.toString());
+            for (String column : columns) {
+                if (column.equalsIgnoreCase("Email") || column.equalsIgnoreCase("Department")) {
+                    statement.executeUpdate("CREATE INDEX IF NOT EXISTS " + table + "_" + column
+                            + " ON " + table + " (" + column + ")");
+                }
+            }
+        }
+    }
+
+    private boolean exists(PreparedStatement statement, String id) throws SQLException {
+        statement.setString(1, id);
+        try (ResultSet results = statement.executeQuery()) {
+            return results.next();
+        }
+    }
+
+    private void bind(PreparedStatement statement, String[] record) throws SQLException {
+        for (int i = 0; i < columns.length; i++) {
+            String value = i < record.length && record[i] != null ? record[i] : "";
+            statement.setString(i + 1, value);
+        }
+    }
+
+    private String[] readRow(ResultSet results) throws SQLException {
+        String[] row = new String[columns.length];
+        for (int i = 0; i < row.length; i++) {
+            String value = results.getString(i + 1);
+            row[i] = value != null ? value : "";
+        }
+        return row;
+    }
+
+    private void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            // Closing the connection also closes its statements and result sets
+            connection.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing " + url + ": " + e.getMessage());
+        }
+    }
+
+    // Table and column names are spliced into SQL, so only plain identifiers are allowed
+    private static String checkName(String name) {
+        if (!name.matches("[A-Za-z_][A-Za-z0-9_]*")) {
+            throw new IllegalArgumentException("Not a valid SQL name: " + name);
+        }
+        return name;
+    }
+}
@@ -0,0 +1,555 @@
+package GUI.Entity;
+
+import java.lang.*;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.*;
+
+// Append-only storage engine for a CSV roster file.
+// Inserts are appended as ordinary CSV rows and deletes are appended as tombstone
+// rows ("#deleted,<id>"), so no write ever rewrites existing data. Reading replays
+// the log: the last row for an ID wins and a tombstone removes it. When the share
+// of dead rows grows past COMPACTION_RATIO the file is rewritten in the background
+// with only the live rows.
+//
+// Updates go through an index from ID to the byte offset and length of the row that
+// holds the record, built lazily by one scan of the file. An edited row that fits
+// the old slot is written over it, and any bytes left over become a dead "#" filler
+// line; a row that does not fit is appended and the old slot is marked dead by
+// turning its first byte into '#'. Either way an edit costs O(record).
+//
+// How a write is made durable is set per store (see Durability); the default comes
+// from the fox.durability system property (none, group or sync) together with
+// fox.groupCommitMillis and fox.groupCommitRecords for group commit.
+public class LogStore {
+    public static final String TOMBSTONE = "#deleted";
+
+    private static final double COMPACTION_RATIO = 0.5;
+    private static final int COMPACTION_MIN_RECORDS = 64;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final byte[] LINE_SEPARATOR_BYTES = LINE_SEPARATOR.getBytes(StandardCharsets.UTF_8);
+
+    private static final Durability DEFAULT_DURABILITY =
+            Durability.fromName(System.getProperty("fox.durability"), Durability.GROUP_COMMIT);
+    private static final int DEFAULT_GROUP_COMMIT_MILLIS = Integer.getInteger("fox.groupCommitMillis", 10);
+    private static final int DEFAULT_GROUP_COMMIT_RECORDS = Integer.getInteger("fox.groupCommitRecords", 64);
+
+    private static final Map<Path, LogStore> STORES = new HashMap<>();
+    private static final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "LogStore-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path path;
+    private String header;
+
+    // Replay statistics, built on first use and then maintained per append
+    private Set<String> liveIds;
+    private int totalRecords;
+    private boolean compactionScheduled;
+
+    // ID -> { offset, length } of its live row, built on the first update
+    private Map<String, long[]> offsets;
+
+    // Appends go through one channel that stays open until the file is rewritten
+    private volatile FileChannel channel;
+    private volatile FileChannel updateChannel;
+    private final ReadWriteLock channelLock = new ReentrantReadWriteLock();
+    private volatile Durability durability = DEFAULT_DURABILITY;
+    private final CommitQueue commits;
+    private final AtomicLong syncCount = new AtomicLong();
+
+    private LogStore(Path path) {
+        this.path = path;
+        this.commits = new CommitQueue(path.getFileName().toString(), this::sync,
+                DEFAULT_GROUP_COMMIT_MILLIS, DEFAULT_GROUP_COMMIT_RECORDS);
+    }
+
+    // One store per file so every writer shares the same statistics and lock
+    public static synchronized LogStore forFile(String file) {
+        Path key = Paths.get(file).toAbsolutePath().normalize();
+        return STORES.computeIfAbsent(key, LogStore::new);
+    }
+
+    public static LogStore forFile(String file, String header) {
+        LogStore store = forFile(file);
+        synchronized (store) {
+            if (store.header == null) {
+                store.header = header;
+            }
+        }
+        return store;
+    }
+
+    public Path getPath() { return path; }
+    public Durability getDurability() { return durability; }
+
+    // Number of fsyncs issued so far, for measuring the durability modes
+    public long getSyncCount() { return syncCount.get(); }
+
+    public void setDurability(Durability durability) {
+        this.durability = durability;
+    }
+
+    // Group commit syncs once maxRecords writes are pending or maxDelayMillis have passed
+    public void setGroupCommit(int maxDelayMillis, int maxRecords) {
+        commits.configure(maxDelayMillis, maxRecords);
+    }
+
+    public synchronized String getHeader() throws IOException {
+        loadStatistics();
+        return header;
+    }
+
+    // Append a new or replacement row; the first field must be the record ID
+    public void append(String csvRow) throws IOException {
+        long commit;
+        synchronized (this) {
+            loadStatistics();
+            commit = writeLines(Collections.singletonList(csvRow));
+            liveIds.add(CSVReader.parseLine(csvRow)[0]);
+            totalRecords++;
+            maybeScheduleCompaction();
+        }
+        awaitCommit(commit);
+    }
+
+    // Append a batch of new rows with a single open and flush of the file.
+    // Rows whose ID is already live, or repeated within the batch, are skipped;
+    // the returned flags tell which rows were written.
+    public boolean[] insertAll(List<String> csvRows) throws IOException {
+        boolean[] inserted = new boolean[csvRows.size()];
+        long commit;
+        synchronized (this) {
+            loadStatistics();
+            Set<String> batchIds = new HashSet<>();
+            List<String> accepted = new ArrayList<>(csvRows.size());
+            for (int i = 0; i < csvRows.size(); i++) {
+                String id = CSVReader.parseLine(csvRows.get(i))[0];
+                if (!liveIds.contains(id) && batchIds.add(id)) {
+                    accepted.add(csvRows.get(i));
+                    inserted[i] = true;
+                }
+            }
+            if (accepted.isEmpty()) {
+                return inserted;
+            }
+            commit = writeLines(accepted);
+            liveIds.addAll(batchIds);
+            totalRecords += accepted.size();
+            maybeScheduleCompaction();
+        }
+        awaitCommit(commit);
+        return inserted;
+    }
+
+    // Replace the row of an existing record in place when it fits, otherwise append it
+    // and retire the old row; false if the ID is not live
+    public boolean update(String csvRow) throws IOException {
+        long commit;
+        synchronized (this) {
+            loadStatistics();
+            String id = CSVReader.parseLine(csvRow)[0];
+            if (!liveIds.contains(id)) {
+                return false;
+            }
+            loadOffsets();
+            long[] slot = offsets.get(id);
+            byte[] row = csvRow.getBytes(StandardCharsets.UTF_8);
+            if (slot != null && fitsSlot(row.length, slot[1])) {
+                ByteBuffer bytes = ByteBuffer.allocate((int) slot[1]);
+                bytes.put(row);
+                if (bytes.hasRemaining()) {
+                    // Leftover bytes become a dead line so the row keeps its exact fields
+                    bytes.put(LINE_SEPARATOR_BYTES).put((byte) '#');
+                    while (bytes.hasRemaining()) {
+                        bytes.put((byte) ' ');
+                    }
+                    totalRecords++;
+                }
+                bytes.flip();
+                commit = writeAt(slot[0], bytes);
+                offsets.put(id, new long[] { slot[0], row.length });
+            } else {
+                if (slot != null) {
+                    retireSlot(slot);
+                }
+                commit = writeLines(Collections.singletonList(csvRow));
+                totalRecords++;
+            }
+            maybeScheduleCompaction();
+        }
+        awaitCommit(commit);
+        return true;
+    }
+
+    // Append a tombstone for the given ID; unknown IDs are ignored
+    public boolean delete(String id) throws IOException {
+        long commit;
+        synchronized (this) {
+            loadStatistics();
+            if (!liveIds.contains(id)) {
+                return false;
+            }
+            commit = writeLines(Collections.singletonList(TOMBSTONE + "," + escape(id)));
+            liveIds.remove(id);
+            totalRecords++;
+            maybeScheduleCompaction();
+        }
+        awaitCommit(commit);
+        return true;
+    }
+
+    // Snapshot of the IDs that are currently live
+    public synchronized Set<String> getLiveIds() throws IOException {
+        loadStatistics();
+        return new HashSet<>(liveIds);
+    }
+
+    public synchronized boolean contains(String id) throws IOException {
+        loadStatistics();
+        return liveIds.contains(id);
+    }
+
+    // Replay the log and return the fields of the live rows in first-insertion order
+    public synchronized List<String[]> readLive() throws IOException {
+        Map<String, String[]> live = replay();
+        return new ArrayList<>(live.values());
+    }
+
+    // Rewrite the file so that it contains only the header and the live rows
+    public synchronized void compact() throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        List<String> rows = new ArrayList<>();
+        for (String[] fields : replay().values()) {
+            rows.add(toRow(fields));
+        }
+        rewrite(rows);
+    }
+
+    // Replace the whole file with the given rows, e.g. when importing a roster
+    public synchronized void replaceAll(Collection<String> rows) throws IOException {
+        if (header == null) {
+            throw new IllegalStateException("No CSV header known for " + path);
+        }
+        rewrite(rows);
+        liveIds = new HashSet<>();
+        for (String row : rows) {
+            liveIds.add(CSVReader.parseLine(row)[0]);
+        }
+    }
+
+    private void rewrite(Collection<String> rows) throws IOException {
+        Path tempPath = path.resolveSibling(path.getFileName() + ".compact");
+        try (BufferedWriter writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+            writer.write(header);
+            writer.newLine();
+            for (String row : rows) {
+                writer.write(row);
+                writer.newLine();
+            }
+        }
+        if (durability != Durability.NONE) {
+            try (FileChannel written = FileChannel.open(tempPath, StandardOpenOption.WRITE)) {
+                written.force(true);
+            }
+        }
+
+        // Writers are excluded by the store lock; this also waits out an fsync in progress
+        channelLock.writeLock().lock();
+        try {
+            closeChannel();
+            try {
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            // Every earlier write is either in the synced new file or was deleted
+            commits.markAllDurable();
+        } finally {
+            channelLock.writeLock().unlock();
+        }
+        totalRecords = rows.size();
+        offsets = null;
+    }
+
+    private Map<String, String[]> replay() throws IOException {
+        Map<String, String[]> live = new LinkedHashMap<>();
+        int records = 0;
+        if (Files.exists(path)) {
+            try (CSVReader reader = new CSVReader(Files.newBufferedReader(path, StandardCharsets.UTF_8))) {
+                if (reader.next() && header == null) {
+                    header = toRow(reader.toArray());
+                }
+                while (reader.next()) {
+                    records++;
+                    if (reader.fieldEquals(0, TOMBSTONE)) {
+                        if (reader.fieldCount() > 1) {
+                            live.remove(reader.get(1));
+                        }
+                    } else if (reader.field(0).length() == 0 || reader.field(0).charAt(0) != '#') {
+                        live.put(reader.get(0), reader.toArray());
+                    }
+                }
+            }
+        }
+        liveIds = new HashSet<>(live.keySet());
+        totalRecords = records;
+        return live;
+    }
+
+    private void loadStatistics() throws IOException {
+        if (liveIds == null) {
+            replay();
+        }
+    }
+
+    // Build the ID -> slot index with one byte-level scan of the file
+    private void loadOffsets() throws IOException {
+        if (offsets != null) {
+            return;
+        }
+        Map<String, long[]> index = new HashMap<>();
+        if (Files.exists(path)) {
+            try (InputStream in = Files.newInputStream(path)) {
+                byte[] buffer = new byte[64 * 1024];
+                ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+                boolean inQuotes = false;
+                boolean headerLine = true;
+                long position = 0;
+                long lineStart = 0;
+                int read;
+                while ((read = in.read(buffer)) > 0) {
+                    for (int i = 0; i < read; i++, position++) {
+                        byte b = buffer[i];
+                        if (b == '\n' && !inQuotes) {
+                            if (!headerLine) {
+                                indexLine(index, line, lineStart);
+                            }
+                            headerLine = false;
+                            line.reset();
+                            lineStart = position + 1;
+                            continue;
+                        }
+                        if (b == '"') {
+                            inQuotes = !inQuotes;
+                        }
+                        line.write(b);
+                    }
+                }
+                if (!headerLine) {
+                    indexLine(index, line, lineStart);
+                }
+            }
+        }
+        offsets = index;
+    }
+
+    private static void indexLine(Map<String, long[]> index, ByteArrayOutputStream line, long lineStart) {
+        byte[] bytes = line.toByteArray();
+        int length = bytes.length;
+        if (length > 0 && bytes[length - 1] == '\r') {
+            length--;
+        }
+        if (length == 0) {
+            return;
+        }
+        String id;
+        if (bytes[0] == '#' || bytes[0] == '"') {
+            String[] fields = CSVReader.parseLine(new String(bytes, 0, length, StandardCharsets.UTF_8));
+            if (fields[0].equals(TOMBSTONE)) {
+                if (fields.length > 1) {
+                    index.remove(fields[1]);
+                }
+                return;
+            }
+            if (fields[0].startsWith("#")) {
+                return;
+            }
+            id = fields[0];
+        } else {
+            int comma = 0;
+            while (comma < length && bytes[comma] != ',') {
+                comma++;
+            }
+            id = new String(bytes, 0, comma, StandardCharsets.UTF_8);
+        }
+        index.put(id, new long[] { lineStart, length });
+    }
+
+    // A row fits a slot exactly, or with room for a separator and a '#' filler line
+    private static boolean fitsSlot(int rowLength, long slotLength) {
+        return rowLength == slotLength || rowLength + LINE_SEPARATOR_BYTES.length + 1 <= slotLength;
+    }
+
+    // Mark an overwritten row dead; a quoted first field is left to the last-row-wins rule
+    private void retireSlot(long[] slot) throws IOException {
+        ByteBuffer first = ByteBuffer.allocate(1);
+        FileChannel out = openUpdateChannel();
+        out.read(first, slot[0]);
+        if (first.get(0) == '"') {
+            return;
+        }
+        writeAt(slot[0], ByteBuffer.wrap(new byte[] { '#' }));
+    }
+
+    // Write bytes over existing data and return their commit sequence number
+    private long writeAt(long position, ByteBuffer bytes) throws IOException {
+        FileChannel out = openUpdateChannel();
+        while (bytes.hasRemaining()) {
+            position += out.write(bytes, position);
+        }
+        if (durability == Durability.SYNC) {
+            out.force(false);
+            syncCount.incrementAndGet();
+        }
+        return commits.recordWrite();
+    }
+
+    // Write the lines with a single channel write and return their commit sequence number
+    private long writeLines(List<String> lines) throws IOException {
+        if (channel == null && !Files.exists(path) && header == null) {
+            throw new IllegalStateException("No CSV header known for " + path);
+        }
+        FileChannel out = openChannel();
+        long position = out.size();
+        StringBuilder text = new StringBuilder();
+        long linesStart = position;
+        if (position == 0) {
+            text.append(header).append(LINE_SEPARATOR);
+            linesStart += header.getBytes(StandardCharsets.UTF_8).length + LINE_SEPARATOR_BYTES.length;
+        }
+        for (String line : lines) {
+            text.append(line).append(LINE_SEPARATOR);
+        }
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(text));
+        if (offsets != null) {
+            indexLines(lines, linesStart);
+        }
+        while (bytes.hasRemaining()) {
+            out.write(bytes);
+        }
+        if (durability == Durability.SYNC) {
+            out.force(false);
+            syncCount.incrementAndGet();
+        }
+        return commits.recordWrite();
+    }
+
+    // Keep the slot index in step with lines appended at the given offset
+    private void indexLines(List<String> lines, long position) {
+        for (String line : lines) {
+            int length = line.getBytes(StandardCharsets.UTF_8).length;
+            String[] fields = CSVReader.parseLine(line);
+            if (fields[0].equals(TOMBSTONE)) {
+                if (fields.length > 1) {
+                    offsets.remove(fields[1]);
+                }
+            } else if (!fields[0].startsWith("#")) {
+                offsets.put(fields[0], new long[] { position, length });
+            }
+            position += length + LINE_SEPARATOR_BYTES.length;
+        }
+    }
+
+    private void awaitCommit(long commit) throws IOException {
+        if (durability == Durability.GROUP_COMMIT) {
+            commits.awaitDurable(commit);
+        }
+    }
+
+    private FileChannel openChannel() throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    // Positional writes need a channel that is not in append mode
+    private FileChannel openUpdateChannel() throws IOException {
+        if (updateChannel == null) {
+            updateChannel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        return updateChannel;
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+        if (updateChannel != null) {
+            updateChannel.close();
+            updateChannel = null;
+        }
+    }
+
+    // Called by the commit queue, outside the store lock so appends can continue
+    private void sync() throws IOException {
+        channelLock.readLock().lock();
+        try {
+            FileChannel current = channel;
+            FileChannel updated = updateChannel;
+            if (current != null) {
+                current.force(false);
+            }
+            if (updated != null) {
+                updated.force(false);
+            }
+            if (current != null || updated != null) {
+                syncCount.incrementAndGet();
+            }
+        } finally {
+            channelLock.readLock().unlock();
+        }
+    }
+
+    private void maybeScheduleCompaction() {
+        int dead = totalRecords - liveIds.size();
+        if (compactionScheduled || totalRecords < COMPACTION_MIN_RECORDS
+                || dead < totalRecords * COMPACTION_RATIO) {
+            return;
+        }
+        compactionScheduled = true;
+        COMPACTOR.execute(() -> {
+            synchronized (LogStore.this) {
+                compactionScheduled = false;
+                try {
+                    compact();
+                } catch (IOException e) {
+                    System.err.println("Error compacting " + path + ": " + e.getMessage());
+                }
+            }
+        });
+    }
+
+    // Join fields into a CSV row, quoting where needed
+    public static String toRow(String[] fields) {
+        StringBuilder row = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                row.append(',');
+            }
+            row.append(escape(fields[i] == null ? "" : fields[i]));
+        }
+        return row.toString();
+    }
+
+    private static String escape(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -0,0 +1,262 @@
+package GUI.Entity;
+
+import java.lang.*;
+import java.util.*;
+import java.util.function.Function;
+
+// Inverted trigram index for case-insensitive substring search.
+// Every record gets a dense document number; its searchable fields are lowercased
+// once, joined with a separator that no query contains, and each distinct trigram
+// of that text maps to a sorted posting list of document numbers. A query of three
+// or more characters intersects the posting lists of its trigrams, shortest first,
+// and only the few surviving candidates are checked with contains(). Shorter
+// queries fall back to a scan of the prepared texts.
+public class NGramIndex<T> {
+    private static final char FIELD_SEPARATOR = '\u0000';
+
+    private final Function<T, String> keyOf;
+    private final Function<T, String[]> fieldsOf;
+
+    // Document number -> record and its prepared text; null once removed
+    private final List<T> records = new ArrayList<>();
+    private final List<String> texts = new ArrayList<>();
+    private final Map<String, Integer> documents = new HashMap<>();
+
+    // Open-addressing table from packed trigram to posting list; emptied lists stay
+    // in place, so entries are never removed and lookups need no tombstones
+    private long[] grams = new long[1024];
+    private Postings[] postings = new Postings[1024];
+    private int gramCount;
+
+    public NGramIndex(Function<T, String> keyOf, Function<T, String[]> fieldsOf) {
+        this.keyOf = keyOf;
+        this.fieldsOf = fieldsOf;
+    }
+
+    public synchronized int size() {
+        return documents.size();
+    }
+
+    // Index a record, replacing any record with the same key in place
+    public synchronized void add(T record) {
+        String key = keyOf.apply(record);
+        Integer existing = documents.get(key);
+        int document;
+        if (existing != null) {
+            document = existing;
+            removePostings(document, texts.get(document));
+        } else {
+            document = records.size();
+            records.add(null);
+            texts.add(null);
+            documents.put(key, document);
+        }
+        String text = prepare(fieldsOf.apply(record));
+        records.set(document, record);
+        texts.set(document, text);
+        for (long gram : trigrams(text)) {
+            postingsFor(gram, true).add(document);
+        }
+    }
+
+    public synchronized void remove(String key) {
+        Integer document = documents.remove(key);
+        if (document == null) {
+            return;
+        }
+        removePostings(document, texts.get(document));
+        records.set(document, null);
+        texts.set(document, null);
+    }
+
+    public synchronized void clear() {
+        records.clear();
+        texts.clear();
+        documents.clear();
+        grams = new long[1024];
+        postings = new Postings[1024];
+        gramCount = 0;
+    }
+
+    // Records with a field containing the query, ignoring case, in insertion order
+    public synchronized List<T> search(String query) {
+        String needle = normalize(query.trim());
+        List<T> matches = new ArrayList<>();
+        if (needle.isEmpty()) {
+            return matches;
+        }
+        if (needle.length() < 3) {
+            for (int document = 0; document < texts.size(); document++) {
+                String text = texts.get(document);
+                if (text != null && text.contains(needle)) {
+                    matches.add(records.get(document));
+                }
+            }
+            return matches;
+        }
+
+        long[] needleGrams = trigrams(needle);
+        List<Postings> lists = new ArrayList<>(needleGrams.length);
+        for (long gram : needleGrams) {
+            Postings list = postingsFor(gram, false);
+            if (list == null || list.size == 0) {
+                return matches;
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+
+        int[] candidates = Arrays.copyOf(lists.get(0).documents, lists.get(0).size);
+        int count = candidates.length;
+        for (int i = 1; i < lists.size() && count > 0; i++) {
+            count = lists.get(i).retainAll(candidates, count);
+        }
+        // Trigrams can all be present without forming the query, so verify longer queries
+        boolean verify = needle.length() > 3;
+        for (int i = 0; i < count; i++) {
+            if (!verify || texts.get(candidates[i]).contains(needle)) {
+                matches.add(records.get(candidates[i]));
+            }
+        }
+        return matches;
+    }
+
+    private void removePostings(int document, String text) {
+        for (long gram : trigrams(text)) {
+            Postings list = postingsFor(gram, false);
+            if (list != null) {
+                list.remove(document);
+            }
+        }
+    }
+
+    // Posting list of a trigram, created on request; null if absent and not created
+    private Postings postingsFor(long gram, boolean create) {
+        int mask = grams.length - 1;
+        int slot = slotOf(gram, mask);
+        while (postings[slot] != null) {
+            if (grams[slot] == gram) {
+                return postings[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (!create) {
+            return null;
+        }
+        if ((gramCount + 1) * 2 > grams.length) {
+            grow();
+            return postingsFor(gram, true);
+        }
+        grams[slot] = gram;
+        postings[slot] = new Postings();
+        gramCount++;
+        return postings[slot];
+    }
+
+    private void grow() {
+        long[] oldGrams = grams;
+        Postings[] oldPostings = postings;
+        grams = new long[oldGrams.length * 2];
+        postings = new Postings[oldGrams.length * 2];
+        int mask = grams.length - 1;
+        for (int i = 0; i < oldGrams.length; i++) {
+            if (oldPostings[i] != null) {
+                int slot = slotOf(oldGrams[i], mask);
+                while (postings[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                grams[slot] = oldGrams[i];
+                postings[slot] = oldPostings[i];
+            }
+        }
+    }
+
+    private static int slotOf(long gram, int mask) {
+        long hash = gram * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & mask;
+    }
+
+    private static String prepare(String[] fields) {
+        StringBuilder text = new StringBuilder();
+        for (String field : fields) {
+            if (text.length() > 0) {
+                text.append(FIELD_SEPARATOR);
+            }
+            text.append(normalize(field));
+        }
+        return text.toString();
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    // Distinct trigrams of the text, each packed into a long, in ascending order
+    private static long[] trigrams(String text) {
+        if (text.length() < 3) {
+            return new long[0];
+        }
+        long[] grams = new long[text.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    // Sorted, growable array of document numbers
+    private static final class Postings {
+        private int[] documents = new int[4];
+        private int size;
+
+        void add(int document) {
+            int index = size == 0 || documents[size - 1] < document
+                    ? size : Arrays.binarySearch(documents, 0, size, document);
+            if (index >= 0 && index < size) {
+                return; // already present
+            }
+            if (index < 0) {
+                index = -index - 1;
+            }
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            System.arraycopy(documents, index, documents, index + 1, size - index);
+            documents[index] = document;
+            size++;
+        }
+
+        boolean remove(int document) {
+            int index = Arrays.binarySearch(documents, 0, size, document);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(documents, index + 1, documents, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        // Keep only the first count candidates that are also in this list; returns the new count
+        int retainAll(int[] candidates, int count) {
+            // Candidates come from the shortest list, so binary search this one
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < count && from < size; i++) {
+                int found = Arrays.binarySearch(documents, from, size, candidates[i]);
+                if (found >= 0) {
+                    candidates[kept++] = candidates[i];
+                    from = found + 1;
+                } else {
+                    from = -found - 1;
+                }
+            }
+            return kept;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package GUI.Entity;
+
+import java.lang.*;
+import java.util.*;
+
+// One page of a sorted roster view. getNext() is the cursor to pass back for the
+// page after this one, or null when there is nothing after it.
+public class Page<T extends Person> {
+    private final List<T> records;
+    private final SortedIndex.Cursor next;
+
+    Page(List<T> records, SortedIndex.Cursor next) {
+        this.records = Collections.unmodifiableList(records);
+        this.next = next;
+    }
+
+    public List<T> getRecords() { return records; }
+    public SortedIndex.Cursor getNext() { return next; }
+    public boolean hasNext() { return next != null; }
+}
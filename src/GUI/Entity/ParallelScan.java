@@ -0,0 +1,73 @@
+package GUI.Entity;
+
+import java.lang.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+// Filters a list of records on a fork-join pool.
+// The list is split in halves until a piece is below the threshold; each piece is
+// filtered on its own worker and the results are joined left before right, so the
+// matches come back in list order however the work was scheduled. Lists under the
+// threshold are filtered on the calling thread, where forking would only cost time.
+public final class ParallelScan {
+    public static final int SEQUENTIAL_THRESHOLD = 8192;
+
+    private ParallelScan() {
+    }
+
+    // Matching records in list order, using the common pool for large lists
+    public static <T> List<T> filter(List<T> records, Predicate<? super T> test) {
+        return filter(records, test, ForkJoinPool.commonPool(), SEQUENTIAL_THRESHOLD);
+    }
+
+    public static <T> List<T> filter(List<T> records, Predicate<? super T> test, ForkJoinPool pool, int threshold) {
+        if (records.size() < threshold || pool.getParallelism() < 2) {
+            return filterRange(records, test, 0, records.size());
+        }
+        // Split pieces small enough that every worker gets several, for balance
+        int piece = Math.max(threshold / 4, records.size() / (pool.getParallelism() * 4) + 1);
+        return pool.invoke(new Chunk<>(records, test, 0, records.size(), piece));
+    }
+
+    private static <T> List<T> filterRange(List<T> records, Predicate<? super T> test, int from, int to) {
+        List<T> matches = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            T record = records.get(i);
+            if (test.test(record)) {
+                matches.add(record);
+            }
+        }
+        return matches;
+    }
+
+    private static final class Chunk<T> extends RecursiveTask<List<T>> {
+        private final List<T> records;
+        private final Predicate<? super T> test;
+        private final int from;
+        private final int to;
+        private final int piece;
+
+        Chunk(List<T> records, Predicate<? super T> test, int from, int to, int piece) {
+            this.records = records;
+            this.test = test;
+            this.from = from;
+            this.to = to;
+            this.piece = piece;
+        }
+
+        @Override
+        protected List<T> compute() {
+            if (to - from <= piece) {
+                return filterRange(records, test, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            Chunk<T> right = new Chunk<>(records, test, middle, to, piece);
+            right.fork();
+            List<T> matches = new Chunk<>(records, test, from, middle, piece).compute();
+            matches.addAll(right.join());
+            return matches;
+        }
+    }
+}
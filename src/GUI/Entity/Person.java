@@ -6,7 +6,7 @@ import java.nio.file.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
-public abstract class Person {
+public abstract class Person implements Cloneable {
     protected String id;
     protected String name;
     protected String age;
@@ -21,6 +21,10 @@ public abstract class Person {
     protected static final String USER_DATA_DIR = "src/userdata";
     protected static final String PHOTOS_DIR = USER_DATA_DIR + File.separator + "photos";
     
+    // Facets every record is counted under (see getFacets())
+    public static final String FACET_DEPARTMENT = "Department";
+    public static final String FACET_GENDER = "Gender";
+    
     public Person(String name, String age, String email, String department, 
                   String gender, String address, String photoPath) {
         this.name = name;
@@ -36,6 +40,20 @@ public abstract class Person {
         createDirectories();
     }
     
+    // Restore a persisted person as-is: no directories, ID or photo copy are created
+    protected Person(String id, String name, String age, String email, String department,
+                     String gender, String address, String photoPath, String registrationDate) {
+        this.id = id;
+        this.name = name;
+        this.age = age;
+        this.email = email;
+        this.department = department;
+        this.gender = gender;
+        this.address = address;
+        this.photoPath = photoPath;
+        this.registrationDate = registrationDate;
+    }
+    
     // Create userdata and photos directories if they don't exist
     protected void createDirectories() {
         try {
@@ -72,6 +90,9 @@ public abstract class Person {
             // Copy file
             Files.copy(sourcePath, destinationPath, StandardCopyOption.REPLACE_EXISTING);
             
+            // Card-sized thumbnails beside it, so the lists never decode the full photo
+            Thumbnails.writeSidecarsInBackground(destinationPath.toString());
+            
             return destinationPath.toString();
         } catch (IOException e) {
             System.err.println("Error saving photo: " + e.getMessage());
@@ -83,8 +104,18 @@ public abstract class Person {
     public abstract void saveToCSV();
     public abstract String generateId();
     public abstract String getCSVHeader();
-    public abstract String toCSVString();
+    public abstract String[] toRecord();
     public abstract void deleteFromCSV(String id);
+    public abstract boolean update();
+    
+    // Detached copy to edit with the setters and pass to update(), leaving this record as it is
+    public Person copy() {
+        try {
+            return (Person) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new RuntimeException("Failed to copy " + id, e);
+        }
+    }
     
     // Getters
     public String getId() { return id; }
@@ -97,6 +128,61 @@ public abstract class Person {
     public String getPhotoPath() { return photoPath; }
     public String getRegistrationDate() { return registrationDate; }
     
+    // Setters for the editable fields; the ID and registration date never change
+    public void setName(String name) { this.name = name; }
+    public void setAge(String age) { this.age = age; }
+    public void setEmail(String email) { this.email = email; }
+    public void setDepartment(String department) { this.department = department; }
+    public void setGender(String gender) { this.gender = gender; }
+    public void setAddress(String address) { this.address = address; }
+    
+    // Replace the photo, copying the new file into the photos directory under the ID
+    public void setPhoto(String originalPhotoPath) {
+        createDirectories();
+        this.photoPath = savePhoto(originalPhotoPath, id);
+    }
+    
+    // Fields matched by keyword search
+    public String[] getSearchFields() {
+        return new String[] { name, id, email, department, gender, address };
+    }
+    
+    // Facet name -> this record's value, for the repository's live facet counts
+    public java.util.Map<String, String> getFacets() {
+        java.util.Map<String, String> facets = new java.util.LinkedHashMap<>();
+        facets.put(FACET_DEPARTMENT, department);
+        facets.put(FACET_GENDER, gender);
+        return facets;
+    }
+    
+    // The words of the name, for fuzzy name matching
+    public java.util.List<String> getNameWords() {
+        if (name == null || name.trim().isEmpty()) {
+            return new java.util.ArrayList<>();
+        }
+        return java.util.Arrays.asList(name.trim().split("\\s+"));
+    }
+    
+    // Terms offered by autocomplete: the full name, each word of it and the email
+    public java.util.List<String> getCompletionTerms() {
+        java.util.List<String> terms = new java.util.ArrayList<>();
+        if (name != null) {
+            terms.add(name);
+            terms.addAll(getNameWords());
+        }
+        terms.add(email);
+        return terms;
+    }
+    
+    // The record as one CSV row, fields in getCSVHeader() order
+    public String toCSVString() {
+        String[] fields = toRecord();
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = escapeCSV(fields[i]);
+        }
+        return String.join(",", fields);
+    }
+    
     // Utility method to escape CSV values
     protected String escapeCSV(String value) {
         if (value == null) return "";
@@ -0,0 +1,96 @@
+package GUI.Entity;
+
+import java.lang.*;
+import java.util.*;
+import java.util.function.Function;
+
+// Sorted prefix index for autocomplete.
+// Each record is filed under a few normalized terms (for people: the full name,
+// every word of the name and the email). The terms are kept in a sorted map, so
+// all terms starting with a prefix form one contiguous range: a lookup is a
+// logarithmic seek followed by a walk that stops after the first k records.
+public class PrefixIndex<T> {
+    private final Function<T, String> keyOf;
+    private final Function<T, Collection<String>> termsOf;
+
+    private final TreeMap<String, Set<T>> terms = new TreeMap<>();
+    // Key -> the record and terms it was filed under, so removal needs no recomputation
+    private final Map<String, Entry<T>> entries = new HashMap<>();
+
+    public PrefixIndex(Function<T, String> keyOf, Function<T, Collection<String>> termsOf) {
+        this.keyOf = keyOf;
+        this.termsOf = termsOf;
+    }
+
+    // File a record under its terms, replacing any record with the same key
+    public synchronized void add(T record) {
+        String key = keyOf.apply(record);
+        remove(key);
+        Set<String> recordTerms = new LinkedHashSet<>();
+        for (String term : termsOf.apply(record)) {
+            String normalized = normalize(term);
+            if (!normalized.isEmpty()) {
+                recordTerms.add(normalized);
+            }
+        }
+        for (String term : recordTerms) {
+            terms.computeIfAbsent(term, t -> new LinkedHashSet<>()).add(record);
+        }
+        entries.put(key, new Entry<>(record, recordTerms));
+    }
+
+    public synchronized void remove(String key) {
+        Entry<T> entry = entries.remove(key);
+        if (entry == null) {
+            return;
+        }
+        for (String term : entry.terms) {
+            Set<T> records = terms.get(term);
+            if (records != null && records.remove(entry.record) && records.isEmpty()) {
+                terms.remove(term);
+            }
+        }
+    }
+
+    // Up to limit distinct records with a term starting with the prefix, in term order
+    public synchronized List<T> complete(String prefix, int limit) {
+        String start = normalize(prefix);
+        List<T> matches = new ArrayList<>();
+        if (start.isEmpty() || limit <= 0) {
+            return matches;
+        }
+        Set<T> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Map.Entry<String, Set<T>> term : terms.tailMap(start, true).entrySet()) {
+            if (!term.getKey().startsWith(start)) {
+                break;
+            }
+            for (T record : term.getValue()) {
+                if (seen.add(record)) {
+                    matches.add(record);
+                    if (matches.size() == limit) {
+                        return matches;
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+
+    // Lower case with runs of whitespace collapsed, so "  Farhan   Juneid" == "farhan juneid"
+    private static String normalize(String term) {
+        if (term == null) {
+            return "";
+        }
+        return term.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Entry<T> {
+        private final T record;
+        private final Set<String> terms;
+
+        Entry(T record, Set<String> terms) {
+            this.record = record;
+            this.terms = terms;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package GUI.Entity;
+
+import java.lang.*;
+import java.util.*;
+
+// Outcome of Repository.query: the matches, how many records the plan had to examine
+// to find them and which index (or a scan) supplied those records
+public class QueryResult<T extends Person> {
+    private final List<T> matches;
+    private final int examined;
+    private final int total;
+    private final String plan;
+
+    QueryResult(List<T> matches, int examined, int total, String plan) {
+        this.matches = Collections.unmodifiableList(matches);
+        this.examined = examined;
+        this.total = total;
+        this.plan = plan;
+    }
+
+    public List<T> getMatches() { return matches; }
+    public int getExamined() { return examined; }
+    public int getTotal() { return total; }
+    public String getPlan() { return plan; }
+
+    // e.g. "12 matches, 340 of 5,000 examined (department index: Engineering)"
+    public String describe() {
+        return String.format("%,d match%s, %,d of %,d examined (%s)", matches.size(),
+                matches.size() == 1 ? "" : "es", examined, total, plan);
+    }
+}
@@ -0,0 +1,139 @@
+package GUI.Entity;
+
+import java.lang.*;
+import java.util.*;
+
+// Search across several rosters at once, ranked by which field matched.
+// Candidates come from each repository's indexes (ID, email, trigram and prefix),
+// so no roster is scanned. Every candidate is scored by its best matching field:
+// an exact ID beats an email, which beats a name, which beats an address. Only
+// the best k hits are kept, in a bounded heap, and they are returned best first
+// with ties broken by name and then ID so the order is stable between runs.
+public class QuickFind {
+    public static final int ID_EXACT = 100;
+    public static final int EMAIL_EXACT = 80;
+    public static final int EMAIL_MATCH = 50;
+    public static final int NAME_EXACT = 45;
+    public static final int NAME_PREFIX = 35;
+    public static final int NAME_MATCH = 25;
+    public static final int ADDRESS_MATCH = 10;
+    public static final int OTHER_MATCH = 5;
+
+    // Queries shorter than a trigram are served from the prefix index, capped here
+    private static final int SHORT_QUERY_CANDIDATES = 500;
+
+    private static final Comparator<Hit> BEST_FIRST = Comparator.comparingInt((Hit hit) -> -hit.score)
+            .thenComparing(hit -> hit.person.getName() == null ? "" : hit.person.getName(),
+                    String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(hit -> hit.person.getId());
+
+    private final List<Repository<? extends Person>> repositories;
+
+    public QuickFind(List<Repository<? extends Person>> repositories) {
+        this.repositories = new ArrayList<>(repositories);
+    }
+
+    // The k best hits for the query across every roster, best first
+    public List<Hit> find(String query, int k) {
+        String needle = query.trim().toLowerCase(Locale.ROOT);
+        List<Hit> hits = new ArrayList<>();
+        if (needle.isEmpty() || k <= 0) {
+            return hits;
+        }
+        // Worst hit at the head, so it is the one evicted when a better one arrives
+        PriorityQueue<Hit> best = new PriorityQueue<>(k + 1, BEST_FIRST.reversed());
+        Set<Person> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Repository<? extends Person> repository : repositories) {
+            for (Person candidate : candidates(repository, query.trim(), needle)) {
+                if (!seen.add(candidate)) {
+                    continue;
+                }
+                Hit hit = score(candidate, needle);
+                if (hit == null) {
+                    continue;
+                }
+                if (best.size() < k) {
+                    best.add(hit);
+                } else if (BEST_FIRST.compare(hit, best.peek()) < 0) {
+                    best.poll();
+                    best.add(hit);
+                }
+            }
+        }
+        hits.addAll(best);
+        hits.sort(BEST_FIRST);
+        return hits;
+    }
+
+    private static List<? extends Person> candidates(Repository<? extends Person> repository,
+                                                     String query, String needle) {
+        List<Person> candidates = new ArrayList<>();
+        Person byId = repository.findById(query.toUpperCase(Locale.ROOT));
+        if (byId != null) {
+            candidates.add(byId);
+        }
+        if (needle.length() < 3) {
+            candidates.addAll(repository.complete(needle, SHORT_QUERY_CANDIDATES));
+        } else {
+            candidates.addAll(repository.search(needle));
+        }
+        return candidates;
+    }
+
+    // Score of the best matching field, or null when nothing matches
+    static Hit score(Person person, String needle) {
+        if (person.getId().equalsIgnoreCase(needle)) {
+            return new Hit(person, ID_EXACT, "ID");
+        }
+        String email = lower(person.getEmail());
+        if (email.equals(needle)) {
+            return new Hit(person, EMAIL_EXACT, "Email");
+        }
+        if (email.contains(needle)) {
+            return new Hit(person, EMAIL_MATCH, "Email");
+        }
+        String name = lower(person.getName());
+        if (name.equals(needle)) {
+            return new Hit(person, NAME_EXACT, "Name");
+        }
+        int at = name.indexOf(needle);
+        if (at >= 0) {
+            // A match at the start of any word of the name counts as a prefix match
+            for (; at >= 0; at = name.indexOf(needle, at + 1)) {
+                if (at == 0 || name.charAt(at - 1) == ' ') {
+                    return new Hit(person, NAME_PREFIX, "Name");
+                }
+            }
+            return new Hit(person, NAME_MATCH, "Name");
+        }
+        if (lower(person.getAddress()).contains(needle)) {
+            return new Hit(person, ADDRESS_MATCH, "Address");
+        }
+        for (String field : person.getSearchFields()) {
+            if (lower(field).contains(needle)) {
+                return new Hit(person, OTHER_MATCH, "Other");
+            }
+        }
+        return null;
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    public static final class Hit {
+        private final Person person;
+        private final int score;
+        private final String field;
+
+        Hit(Person person, int score, String field) {
+            this.person = person;
+            this.score = score;
+            this.field = field;
+        }
+
+        public Person getPerson() { return person; }
+        public int getScore() { return score; }
+        public String getField() { return field; }
+    }
+}
@@ -0,0 +1,162 @@
+package GUI.Entity;
+
+import java.lang.*;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.*;
+
+// Binary, fixed-layout roster file that is read through a MappedByteBuffer.
+//
+// Layout (all integers big-endian):
+//   magic "FOXR", version, column count, record count,
+//   size and modification time of the CSV the file was converted from
+//   column names, each as a length-prefixed UTF-8 string
+//   offset table: one int per record, the absolute position of the record
+//   records: column count length-prefixed UTF-8 fields
+//
+// Because every record can be located through the offset table, rows are decoded
+// only when asked for and can be decoded from several threads at once.
+public class RecordFile implements Closeable {
+    private static final int MAGIC = 0x464F5852; // "FOXR"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final String[] columns;
+    private final int recordCount;
+    private final long sourceSize;
+    private final long sourceModified;
+    private final int offsetTable;
+
+    private RecordFile(FileChannel channel, MappedByteBuffer buffer) throws IOException {
+        this.channel = channel;
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a record file");
+        }
+        int columnCount = buffer.getInt(8);
+        recordCount = buffer.getInt(12);
+        sourceSize = buffer.getLong(16);
+        sourceModified = buffer.getLong(24);
+        columns = new String[columnCount];
+        int position = HEADER_SIZE;
+        for (int i = 0; i < columnCount; i++) {
+            int length = buffer.getInt(position);
+            columns[i] = decode(buffer, position + 4, length);
+            position += 4 + length;
+        }
+        offsetTable = position;
+    }
+
+    public static RecordFile open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new RecordFile(channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public String[] getColumns() { return columns.clone(); }
+    public int size() { return recordCount; }
+
+    // Decode a single record; safe to call from several threads
+    public String[] get(int index) {
+        if (index < 0 || index >= recordCount) {
+            throw new IndexOutOfBoundsException("Record " + index + " of " + recordCount);
+        }
+        int position = buffer.getInt(offsetTable + index * 4);
+        String[] fields = new String[columns.length];
+        for (int i = 0; i < fields.length; i++) {
+            int length = buffer.getInt(position);
+            fields[i] = decode(buffer, position + 4, length);
+            position += 4 + length;
+        }
+        return fields;
+    }
+
+    // Records in file order; call parallel() to decode them on several cores
+    public Stream<String[]> stream() {
+        return IntStream.range(0, recordCount).mapToObj(this::get);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // True when the CSV has not changed since this file was converted from it
+    public boolean isSnapshotOf(Path csvFile) {
+        try {
+            return Files.exists(csvFile) && Files.size(csvFile) == sourceSize
+                    && Files.getLastModifiedTime(csvFile).toMillis() == sourceModified;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // Write the given rows into a new record file, replacing any existing one.
+    // source is the CSV the rows came from, or null when there is none.
+    public static void write(Path path, String[] columns, List<String[]> rows, Path source) throws IOException {
+        byte[][] columnBytes = new byte[columns.length][];
+        int headerSize = HEADER_SIZE;
+        for (int i = 0; i < columns.length; i++) {
+            columnBytes[i] = columns[i].getBytes(StandardCharsets.UTF_8);
+            headerSize += 4 + columnBytes[i].length;
+        }
+
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(columns.length);
+            out.writeInt(rows.size());
+            out.writeLong(source != null ? Files.size(source) : 0);
+            out.writeLong(source != null ? Files.getLastModifiedTime(source).toMillis() : 0);
+            for (byte[] column : columnBytes) {
+                out.writeInt(column.length);
+                out.write(column);
+            }
+
+            // Encode the records first so the offset table can be written ahead of them
+            byte[][][] encoded = new byte[rows.size()][][];
+            int position = headerSize + rows.size() * 4;
+            for (int r = 0; r < rows.size(); r++) {
+                String[] row = rows.get(r);
+                encoded[r] = new byte[columns.length][];
+                out.writeInt(position);
+                for (int i = 0; i < columns.length; i++) {
+                    String value = i < row.length && row[i] != null ? row[i] : "";
+                    encoded[r][i] = value.getBytes(StandardCharsets.UTF_8);
+                    position += 4 + encoded[r][i].length;
+                }
+            }
+            for (byte[][] record : encoded) {
+                for (byte[] field : record) {
+                    out.writeInt(field.length);
+                    out.write(field);
+                }
+            }
+        }
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static String decode(ByteBuffer buffer, int position, int length) {
+        if (length == 0) {
+            return "";
+        }
+        byte[] bytes = new byte[length];
+        ByteBuffer view = buffer.duplicate();
+        view.position(position);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
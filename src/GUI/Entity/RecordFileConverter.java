@@ -0,0 +1,58 @@
+package GUI.Entity;
+
+import java.lang.*;
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+// One-shot conversion between the CSV roster files and binary record files.
+// The CSV stays the import/export format; the record file is the fast load path.
+//
+// Usage: java -cp bin GUI.Entity.RecordFileConverter to-binary <csv file> <record file>
+//        java -cp bin GUI.Entity.RecordFileConverter to-csv <record file> <csv file>
+public class RecordFileConverter {
+
+    // Convert the live rows of a CSV roster into a record file
+    public static int csvToRecordFile(String csvFile, Path recordFile) throws IOException {
+        LogStore store = LogStore.forFile(csvFile);
+        List<String[]> rows = store.readLive();
+        String header = store.getHeader();
+        if (header == null) {
+            throw new IOException("No CSV data found in " + csvFile);
+        }
+        RecordFile.write(recordFile, CSVReader.parseLine(header), rows, store.getPath());
+        return rows.size();
+    }
+
+    // Export a record file as a compacted CSV roster, replacing the CSV's contents
+    public static int recordFileToCSV(Path recordFile, String csvFile) throws IOException {
+        try (RecordFile records = RecordFile.open(recordFile)) {
+            List<String> rows = new ArrayList<>(records.size());
+            for (int i = 0; i < records.size(); i++) {
+                rows.add(LogStore.toRow(records.get(i)));
+            }
+            LogStore.forFile(csvFile, LogStore.toRow(records.getColumns())).replaceAll(rows);
+            return rows.size();
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 3 || !(args[0].equals("to-binary") || args[0].equals("to-csv"))) {
+            System.err.println("Usage: RecordFileConverter to-binary <csv file> <record file>");
+            System.err.println("       RecordFileConverter to-csv <record file> <csv file>");
+            System.exit(1);
+        }
+        try {
+            int count;
+            if (args[0].equals("to-binary")) {
+                count = csvToRecordFile(args[1], Paths.get(args[2]));
+            } else {
+                count = recordFileToCSV(Paths.get(args[1]), args[2]);
+            }
+            System.out.println("Converted " + count + " records from " + args[1] + " to " + args[2]);
+        } catch (IOException e) {
+            System.err.println("Error converting " + args[1] + ": " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
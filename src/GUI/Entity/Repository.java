@@ -0,0 +1,412 @@
+package GUI.Entity;
+
+import java.lang.*;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.stream.*;
+
+// Canonical in-memory copy of one roster.
+// The dataset is loaded from storage once; every change is written through to
+// storage first and then applied in memory, and listeners are told exactly which
+// record was added, removed or updated. Reads never touch the disk.
+//
+// Besides the ID map the repository maintains secondary indexes from email (unique,
+// compared without case), department, age and registration day to records, so
+// lookups, duplicate checks and most filter queries never scan the roster. It also
+// keeps live counts per facet value (department, gender, ...) for the filters, and
+// the roster sorted in every RosterOrder for paged views.
+public abstract class Repository<T extends Person> {
+    private final Map<String, T> records = new LinkedHashMap<>();
+    private final List<RepositoryListener<T>> listeners = new CopyOnWriteArrayList<>();
+    private final NGramIndex<T> searchIndex = new NGramIndex<>(Person::getId, Person::getSearchFields);
+    private final PrefixIndex<T> completionIndex = new PrefixIndex<>(Person::getId, Person::getCompletionTerms);
+    private final FuzzyIndex<T> nameIndex = new FuzzyIndex<>(Person::getId, Person::getNameWords);
+    private final Map<String, T> byEmail = new HashMap<>();
+    private final Map<String, Set<T>> byDepartment = new TreeMap<>();
+    private final TreeMap<Integer, Set<T>> byAge = new TreeMap<>();
+    private final TreeMap<String, Set<T>> byDay = new TreeMap<>();
+    private final FacetCounts facets = new FacetCounts();
+    private final Map<RosterOrder, SortedIndex<T>> sortedIndexes = new EnumMap<>(RosterOrder.class);
+    private volatile boolean loaded;
+
+    protected Repository() {
+        for (RosterOrder order : RosterOrder.values()) {
+            sortedIndexes.put(order, new SortedIndex<>(order));
+        }
+    }
+
+    // Stream every persisted record; used once to fill the repository
+    protected abstract Stream<T> loadAll();
+
+    // Persist a batch of new records in one write
+    protected abstract BatchResult<T> saveAll(Collection<? extends T> newRecords);
+
+    public synchronized List<T> getAll() {
+        ensureLoaded();
+        return new ArrayList<>(records.values());
+    }
+
+    public synchronized T findById(String id) {
+        ensureLoaded();
+        return records.get(id);
+    }
+
+    public synchronized int size() {
+        ensureLoaded();
+        return records.size();
+    }
+
+    // The record registered with the email, ignoring case, or null
+    public synchronized T findByEmail(String email) {
+        ensureLoaded();
+        return byEmail.get(emailKey(email));
+    }
+
+    public synchronized boolean isEmailTaken(String email) {
+        return findByEmail(email) != null;
+    }
+
+    // Departments that have at least one record, in alphabetical order
+    public synchronized List<String> getDepartments() {
+        ensureLoaded();
+        return new ArrayList<>(byDepartment.keySet());
+    }
+
+    public synchronized List<T> getByDepartment(String department) {
+        ensureLoaded();
+        Set<T> members = byDepartment.get(department);
+        return members != null ? new ArrayList<>(members) : new ArrayList<>();
+    }
+
+    // Records whose facet (see Person.getFacets()) has the value; kept current on every change
+    public int getFacetCount(String facet, String value) {
+        awaitLoaded();
+        return facets.count(facet, value);
+    }
+
+    // Every value of the facet with its record count, in alphabetical order
+    public SortedMap<String, Integer> getFacetCounts(String facet) {
+        awaitLoaded();
+        return facets.counts(facet);
+    }
+
+    // Up to limit records passing the filter, in the given order, after the cursor of the
+    // previous page (null for the first page). Served from a maintained sorted index, so
+    // switching order or paging never sorts the roster.
+    public Page<T> page(RosterOrder order, SortedIndex.Cursor after, int limit, Predicate<? super T> filter) {
+        awaitLoaded();
+        return sortedIndexes.get(order).page(after, limit, filter);
+    }
+
+    // Records with a field containing the keyword, ignoring case, in roster order
+    public List<T> search(String keyword) {
+        awaitLoaded();
+        return searchIndex.search(keyword);
+    }
+
+    // Records whose name matches the words of the query allowing for typos, closest first
+    public List<T> fuzzySearch(String query) {
+        awaitLoaded();
+        return nameIndex.search(query);
+    }
+
+    // Up to limit records whose name, a word of the name or email starts with the prefix
+    public List<T> complete(String prefix, int limit) {
+        awaitLoaded();
+        return completionIndex.complete(prefix, limit);
+    }
+
+    // Records matching a parsed filter query. The plan starts from the most selective
+    // index the query allows (department, age, registration day or keyword) and only
+    // tests those records; a query no index can narrow is answered by a scan. Large
+    // candidate sets are tested in parallel (see ParallelScan), keeping their order.
+    public synchronized QueryResult<T> query(RosterQuery query) {
+        ensureLoaded();
+        Plan<T> plan = plan(query.getRoot());
+        List<T> candidates;
+        if (plan.parts == null) {
+            candidates = new ArrayList<>(records.values());
+        } else {
+            candidates = new ArrayList<>(Math.min(plan.size, records.size()));
+            plan.parts.forEach(candidates::addAll);
+        }
+        List<T> matches = ParallelScan.filter(candidates, query::test);
+        return new QueryResult<>(matches, candidates.size(), records.size(), plan.description);
+    }
+
+    // Persist a new record and add it to the dataset; a taken email is rejected
+    public void add(T record) {
+        synchronized (this) {
+            ensureLoaded();
+            checkEmailFree(record, null);
+            record.saveToCSV();
+            records.put(record.getId(), record);
+            index(record);
+        }
+        for (RepositoryListener<T> listener : listeners) {
+            listener.recordAdded(record);
+        }
+    }
+
+    // Persist a batch of new records with one write and add the ones that were saved.
+    // Records whose email is taken, or repeated within the batch, are reported as failures.
+    public BatchResult<T> addAll(Collection<? extends T> newRecords) {
+        BatchResult<T> result;
+        synchronized (this) {
+            ensureLoaded();
+            List<T> accepted = new ArrayList<>();
+            Map<Person, String> rejected = new LinkedHashMap<>();
+            Set<String> batchEmails = new HashSet<>();
+            for (T record : newRecords) {
+                String key = emailKey(record.getEmail());
+                if (!key.isEmpty() && (byEmail.containsKey(key) || !batchEmails.add(key))) {
+                    rejected.put(record, "Duplicate email " + record.getEmail());
+                } else {
+                    accepted.add(record);
+                }
+            }
+            result = saveAll(accepted);
+            rejected.forEach(result::addFailure);
+            for (T record : result.getSaved()) {
+                records.put(record.getId(), record);
+                index(record);
+            }
+        }
+        for (T record : result.getSaved()) {
+            for (RepositoryListener<T> listener : listeners) {
+                listener.recordAdded(record);
+            }
+        }
+        return result;
+    }
+
+    // Write an edited copy of a stored record (see Person.copy()) and swap it in;
+    // false if the ID is unknown
+    public boolean update(T edited) {
+        T previous;
+        synchronized (this) {
+            ensureLoaded();
+            previous = records.get(edited.getId());
+            if (previous == null) {
+                return false;
+            }
+            checkEmailFree(edited, previous);
+            if (!edited.update()) {
+                return false;
+            }
+            records.put(edited.getId(), edited);
+            unindex(previous);
+            index(edited);
+        }
+        for (RepositoryListener<T> listener : listeners) {
+            listener.recordUpdated(previous, edited);
+        }
+        return true;
+    }
+
+    // Delete a record from storage and from the dataset; false if the ID is unknown
+    public boolean remove(String id) {
+        T record;
+        synchronized (this) {
+            ensureLoaded();
+            record = records.get(id);
+            if (record == null) {
+                return false;
+            }
+            record.deleteFromCSV(id);
+            records.remove(id);
+            unindex(record);
+        }
+        for (RepositoryListener<T> listener : listeners) {
+            listener.recordRemoved(record);
+        }
+        return true;
+    }
+
+    public void addListener(RepositoryListener<T> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(RepositoryListener<T> listener) {
+        listeners.remove(listener);
+    }
+
+    // The search indexes have their own locks, so once loaded they are queried
+    // without waiting for a write that holds the repository lock
+    private void awaitLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                ensureLoaded();
+            }
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        try (Stream<T> all = loadAll()) {
+            all.forEach(record -> records.put(record.getId(), record));
+        }
+        records.values().forEach(this::index);
+        loaded = true;
+    }
+
+    private void index(T record) {
+        searchIndex.add(record);
+        completionIndex.add(record);
+        nameIndex.add(record);
+        facets.add(record);
+        for (SortedIndex<T> sorted : sortedIndexes.values()) {
+            sorted.add(record);
+        }
+        String key = emailKey(record.getEmail());
+        if (!key.isEmpty()) {
+            byEmail.putIfAbsent(key, record);
+        }
+        byDepartment.computeIfAbsent(department(record), k -> new LinkedHashSet<>()).add(record);
+        Integer age = RosterQuery.ageOf(record);
+        if (age != null) {
+            byAge.computeIfAbsent(age, k -> new LinkedHashSet<>()).add(record);
+        }
+        String day = RosterQuery.dayOf(record);
+        if (day != null) {
+            byDay.computeIfAbsent(day, k -> new LinkedHashSet<>()).add(record);
+        }
+    }
+
+    private void unindex(T record) {
+        searchIndex.remove(record.getId());
+        completionIndex.remove(record.getId());
+        nameIndex.remove(record.getId());
+        facets.remove(record);
+        for (SortedIndex<T> sorted : sortedIndexes.values()) {
+            sorted.remove(record.getId());
+        }
+        byEmail.remove(emailKey(record.getEmail()), record);
+        Set<T> members = byDepartment.get(department(record));
+        if (members != null && members.remove(record) && members.isEmpty()) {
+            byDepartment.remove(department(record));
+        }
+        removeFrom(byAge, RosterQuery.ageOf(record), record);
+        removeFrom(byDay, RosterQuery.dayOf(record), record);
+    }
+
+    private static <K, T> void removeFrom(Map<K, Set<T>> index, K key, T record) {
+        Set<T> members = key != null ? index.get(key) : null;
+        if (members != null && members.remove(record) && members.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    // Smallest candidate set an index can give for the predicate, or a scan when no
+    // index can narrow it. Candidates are the index's own buckets, so weighing the terms
+    // of an AND copies nothing; only keyword terms and ORs build their set up front.
+    private Plan<T> plan(RosterQuery.Node node) {
+        if (node instanceof RosterQuery.And) {
+            Plan<T> best = Plan.scan();
+            for (RosterQuery.Node term : ((RosterQuery.And) node).terms) {
+                Plan<T> plan = plan(term);
+                if (plan.size < best.size) {
+                    best = plan;
+                }
+            }
+            return best;
+        }
+        if (node instanceof RosterQuery.Or) {
+            // Usable only if every alternative has an index; the union is the candidate set
+            Set<T> union = new LinkedHashSet<>();
+            List<String> parts = new ArrayList<>();
+            for (RosterQuery.Node alternative : ((RosterQuery.Or) node).alternatives) {
+                Plan<T> plan = plan(alternative);
+                if (plan.parts == null) {
+                    return Plan.scan();
+                }
+                plan.parts.forEach(union::addAll);
+                parts.add(plan.description);
+            }
+            return new Plan<>(Collections.singletonList(union), union.size(), String.join(" OR ", parts));
+        }
+        if (node instanceof RosterQuery.Field && ((RosterQuery.Field) node).field == RosterQuery.Field.DEPARTMENT) {
+            String wanted = ((RosterQuery.Field) node).value;
+            for (Map.Entry<String, Set<T>> department : byDepartment.entrySet()) {
+                if (department.getKey().equalsIgnoreCase(wanted)) {
+                    return new Plan<>(Collections.singletonList(department.getValue()), department.getValue().size(),
+                            "department index: " + department.getKey());
+                }
+            }
+            return new Plan<>(Collections.<Collection<T>>emptyList(), 0, "department index: no such department");
+        }
+        if (node instanceof RosterQuery.AgeRange) {
+            RosterQuery.AgeRange range = (RosterQuery.AgeRange) node;
+            if (range.from > range.to) {
+                return new Plan<>(Collections.<Collection<T>>emptyList(), 0, "age index");
+            }
+            return rangePlan(byAge.subMap(range.from, true, range.to, true), "age index");
+        }
+        if (node instanceof RosterQuery.DateRange) {
+            RosterQuery.DateRange range = (RosterQuery.DateRange) node;
+            NavigableMap<String, Set<T>> days = byDay;
+            if (range.from != null && range.to != null && range.from.compareTo(range.to) > 0) {
+                return new Plan<>(Collections.<Collection<T>>emptyList(), 0, "registration date index");
+            }
+            if (range.from != null) {
+                days = days.tailMap(range.from, true);
+            }
+            if (range.to != null) {
+                days = days.headMap(range.to, true);
+            }
+            return rangePlan(days, "registration date index");
+        }
+        if (node instanceof RosterQuery.Text) {
+            List<T> matches = searchIndex.search(((RosterQuery.Text) node).phrase);
+            return new Plan<>(Collections.<Collection<T>>singletonList(matches), matches.size(), "keyword index");
+        }
+        return Plan.scan();
+    }
+
+    private Plan<T> rangePlan(NavigableMap<?, Set<T>> range, String description) {
+        int size = 0;
+        for (Set<T> members : range.values()) {
+            size += members.size();
+        }
+        if (size == records.size()) {
+            return Plan.scan(); // the range holds everyone, so the index narrows nothing
+        }
+        return new Plan<>(new ArrayList<Collection<T>>(range.values()), size, description);
+    }
+
+    // Reject a record whose email belongs to another record (other than the one it replaces)
+    private void checkEmailFree(T record, T replacing) {
+        T owner = byEmail.get(emailKey(record.getEmail()));
+        if (owner != null && owner != replacing) {
+            throw new IllegalArgumentException("Email already registered: " + record.getEmail());
+        }
+    }
+
+    private static String emailKey(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Records a query has to examine, as index buckets, or null parts for a full scan
+    private static final class Plan<T> {
+        private final Collection<? extends Collection<T>> parts;
+        private final int size;
+        private final String description;
+
+        Plan(Collection<? extends Collection<T>> parts, int size, String description) {
+            this.parts = parts;
+            this.size = size;
+            this.description = description;
+        }
+
+        static <T> Plan<T> scan() {
+            return new Plan<>(null, Integer.MAX_VALUE, "full scan");
+        }
+    }
+
+    private static String department(Person record) {
+        return record.getDepartment() == null ? "" : record.getDepartment();
+    }
+}
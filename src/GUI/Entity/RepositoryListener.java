@@ -0,0 +1,10 @@
+package GUI.Entity;
+
+import java.lang.*;
+
+// Receives changes made through a Repository, after they have been written to storage
+public interface RepositoryListener<T extends Person> {
+    void recordAdded(T record);
+    void recordRemoved(T record);
+    void recordUpdated(T previous, T current);
+}
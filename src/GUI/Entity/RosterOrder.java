@@ -0,0 +1,25 @@
+package GUI.Entity;
+
+import java.lang.*;
+
+// Orders a roster can be listed in; each is served from its own maintained SortedIndex
+public enum RosterOrder {
+    // By name as a reader expects (accents and case only break ties), via cached collation keys
+    NAME("Name"),
+    // Most recently registered first
+    NEWEST("Newest first"),
+    // Youngest first; records without a numeric age come last
+    AGE("Age"),
+    ID("ID");
+
+    private final String label;
+
+    RosterOrder(String label) {
+        this.label = label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
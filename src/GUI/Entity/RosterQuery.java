@@ -0,0 +1,433 @@
+package GUI.Entity;
+
+import java.lang.*;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+// Filter query for the roster panels, parsed into a tree of predicates, e.g.
+//
+//   dept:Engineering gender:Female age:20..25 registered:>2025-06-01 subject:"Machine Learning"
+//
+// Terms next to each other must all hold; OR between terms makes either enough,
+// a leading '-' negates a term and parentheses group terms. Values take quotes when
+// they contain spaces. age and registered accept a single value, a range a..b (either
+// end may be left out) or a comparison >x, >=x, <x, <=x; dates are yyyy-MM-dd.
+// Words without a field are kept together as one phrase and matched like the plain
+// keyword search, against every field.
+//
+// Repository.query plans the tree against its indexes before evaluating it.
+public final class RosterQuery {
+    private static final Set<String> FIELDS = new HashSet<>(Arrays.asList("dept", "department", "gender",
+            "age", "registered", "date", "subject", "designation", "name", "email", "id", "address"));
+
+    private final String text;
+    private final Node root;
+
+    private RosterQuery(String text, Node root) {
+        this.text = text;
+        this.root = root;
+    }
+
+    // Parse a query; a malformed one is rejected with IllegalArgumentException
+    public static RosterQuery parse(String query) {
+        Parser parser = new Parser(tokenize(query));
+        Node root = parser.parseOr();
+        if (parser.position < parser.tokens.size()) {
+            throw new IllegalArgumentException("Unexpected '" + parser.tokens.get(parser.position) + "'");
+        }
+        return new RosterQuery(query.trim(), root);
+    }
+
+    // True if the text uses the query syntax rather than being a plain keyword
+    public static boolean isStructured(String query) {
+        for (String token : tokenize(query)) {
+            if (token.equals("(") || token.equals("OR") || token.startsWith("-") && token.length() > 1
+                    || fieldOf(token) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean test(Person person) {
+        return root.test(person);
+    }
+
+    Node getRoot() {
+        return root;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    // Split into words, quoted phrases, parentheses and field:value pairs (the value may be quoted)
+    private static List<String> tokenize(String query) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+                token.append(c);
+            } else if (!quoted && (Character.isWhitespace(c) || c == '(' || c == ')')) {
+                if (token.length() > 0) {
+                    tokens.add(token.toString());
+                    token.setLength(0);
+                }
+                if (c == '(' || c == ')') {
+                    tokens.add(String.valueOf(c));
+                }
+            } else {
+                token.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Missing closing quote");
+        }
+        if (token.length() > 0) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    // The field name of a field:value token, or null for anything else (so "10:30" stays a word)
+    private static String fieldOf(String token) {
+        int colon = token.indexOf(':');
+        if (colon <= 0) {
+            return null;
+        }
+        String field = token.substring(token.startsWith("-") ? 1 : 0, colon).toLowerCase(Locale.ROOT);
+        return FIELDS.contains(field) ? field : null;
+    }
+
+    private static String unquote(String value) {
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    private static final class Parser {
+        private final List<String> tokens;
+        private int position;
+
+        Parser(List<String> tokens) {
+            this.tokens = tokens;
+        }
+
+        Node parseOr() {
+            List<Node> alternatives = new ArrayList<>();
+            alternatives.add(parseAnd());
+            while (position < tokens.size() && tokens.get(position).equals("OR")) {
+                position++;
+                alternatives.add(parseAnd());
+            }
+            return alternatives.size() == 1 ? alternatives.get(0) : new Or(alternatives);
+        }
+
+        Node parseAnd() {
+            List<Node> terms = new ArrayList<>();
+            List<String> words = new ArrayList<>();
+            while (position < tokens.size()) {
+                String token = tokens.get(position);
+                if (token.equals("OR") || token.equals(")")) {
+                    break;
+                }
+                if (isWord(token)) {
+                    words.add(unquote(token));
+                    position++;
+                    continue;
+                }
+                terms.add(parseUnary());
+            }
+            if (!words.isEmpty()) {
+                // Plain words form one phrase, as in the keyword search
+                terms.add(0, new Text(String.join(" ", words)));
+            }
+            if (terms.isEmpty()) {
+                throw new IllegalArgumentException(position < tokens.size()
+                        ? "Expected a term before '" + tokens.get(position) + "'" : "Empty query");
+            }
+            return terms.size() == 1 ? terms.get(0) : new And(terms);
+        }
+
+        Node parseUnary() {
+            String token = tokens.get(position++);
+            if (token.equals("-")) {
+                if (position >= tokens.size()) {
+                    throw new IllegalArgumentException("Expected a term after '-'");
+                }
+                return new Not(parseUnary());
+            }
+            if (token.startsWith("-")) {
+                tokens.set(--position, token.substring(1));
+                return new Not(parseUnary());
+            }
+            if (token.equals("(")) {
+                Node group = parseOr();
+                if (position >= tokens.size() || !tokens.get(position).equals(")")) {
+                    throw new IllegalArgumentException("Missing ')'");
+                }
+                position++;
+                return group;
+            }
+            String field = fieldOf(token);
+            if (field == null) {
+                return new Text(unquote(token));
+            }
+            return term(field, unquote(token.substring(token.indexOf(':') + 1)));
+        }
+
+        private static boolean isWord(String token) {
+            return !token.equals("(") && !(token.startsWith("-") && token.length() > 1) && !token.equals("-")
+                    && fieldOf(token) == null;
+        }
+    }
+
+    private static Node term(String field, String value) {
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("Missing value for " + field + ":");
+        }
+        switch (field) {
+            case "dept":
+            case "department":
+                return new Field(Field.DEPARTMENT, value, true);
+            case "gender":
+                return new Field(Field.GENDER, value, true);
+            case "subject":
+                return new Field(Field.SUBJECT, value, false);
+            case "designation":
+                return new Field(Field.DESIGNATION, value, false);
+            case "name":
+                return new Field(Field.NAME, value, false);
+            case "email":
+                return new Field(Field.EMAIL, value, false);
+            case "id":
+                return new Field(Field.ID, value, false);
+            case "address":
+                return new Field(Field.ADDRESS, value, false);
+            case "age":
+                return ageRange(value);
+            case "registered":
+            case "date":
+                return dateRange(value);
+            default:
+                throw new IllegalArgumentException("Unknown field '" + field + "'");
+        }
+    }
+
+    private static AgeRange ageRange(String value) {
+        try {
+            if (value.startsWith(">=")) {
+                return new AgeRange(Integer.parseInt(value.substring(2)), Integer.MAX_VALUE);
+            } else if (value.startsWith(">")) {
+                return new AgeRange(Integer.parseInt(value.substring(1)) + 1, Integer.MAX_VALUE);
+            } else if (value.startsWith("<=")) {
+                return new AgeRange(Integer.MIN_VALUE, Integer.parseInt(value.substring(2)));
+            } else if (value.startsWith("<")) {
+                return new AgeRange(Integer.MIN_VALUE, Integer.parseInt(value.substring(1)) - 1);
+            }
+            int dots = value.indexOf("..");
+            if (dots < 0) {
+                int age = Integer.parseInt(value);
+                return new AgeRange(age, age);
+            }
+            String from = value.substring(0, dots);
+            String to = value.substring(dots + 2);
+            return new AgeRange(from.isEmpty() ? Integer.MIN_VALUE : Integer.parseInt(from),
+                    to.isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(to));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid age '" + value + "'");
+        }
+    }
+
+    private static DateRange dateRange(String value) {
+        try {
+            if (value.startsWith(">=")) {
+                return new DateRange(LocalDate.parse(value.substring(2)), null);
+            } else if (value.startsWith(">")) {
+                return new DateRange(LocalDate.parse(value.substring(1)).plusDays(1), null);
+            } else if (value.startsWith("<=")) {
+                return new DateRange(null, LocalDate.parse(value.substring(2)));
+            } else if (value.startsWith("<")) {
+                return new DateRange(null, LocalDate.parse(value.substring(1)).minusDays(1));
+            }
+            int dots = value.indexOf("..");
+            if (dots < 0) {
+                LocalDate day = LocalDate.parse(value);
+                return new DateRange(day, day);
+            }
+            String from = value.substring(0, dots);
+            String to = value.substring(dots + 2);
+            return new DateRange(from.isEmpty() ? null : LocalDate.parse(from),
+                    to.isEmpty() ? null : LocalDate.parse(to));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date '" + value + "', expected yyyy-MM-dd");
+        }
+    }
+
+    // Predicate tree nodes; the planner looks at their types to find usable indexes
+    abstract static class Node {
+        abstract boolean test(Person person);
+    }
+
+    static final class And extends Node {
+        final List<Node> terms;
+
+        And(List<Node> terms) {
+            this.terms = terms;
+        }
+
+        @Override
+        boolean test(Person person) {
+            for (Node term : terms) {
+                if (!term.test(person)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    static final class Or extends Node {
+        final List<Node> alternatives;
+
+        Or(List<Node> alternatives) {
+            this.alternatives = alternatives;
+        }
+
+        @Override
+        boolean test(Person person) {
+            for (Node alternative : alternatives) {
+                if (alternative.test(person)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    static final class Not extends Node {
+        final Node term;
+
+        Not(Node term) {
+            this.term = term;
+        }
+
+        @Override
+        boolean test(Person person) {
+            return !term.test(person);
+        }
+    }
+
+    // A keyword phrase found in any field, ignoring case
+    static final class Text extends Node {
+        final String phrase;
+
+        Text(String phrase) {
+            this.phrase = phrase.toLowerCase(Locale.ROOT);
+        }
+
+        @Override
+        boolean test(Person person) {
+            for (String field : person.getSearchFields()) {
+                if (field != null && field.toLowerCase(Locale.ROOT).contains(phrase)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // One field equal to (exact) or containing the value, ignoring case
+    static final class Field extends Node {
+        static final int DEPARTMENT = 0, GENDER = 1, SUBJECT = 2, DESIGNATION = 3, NAME = 4, EMAIL = 5,
+                ID = 6, ADDRESS = 7;
+
+        final int field;
+        final String value;
+        final boolean exact;
+
+        Field(int field, String value, boolean exact) {
+            this.field = field;
+            this.value = value.toLowerCase(Locale.ROOT);
+            this.exact = exact;
+        }
+
+        @Override
+        boolean test(Person person) {
+            String actual = valueOf(person);
+            if (actual == null) {
+                return false;
+            }
+            actual = actual.toLowerCase(Locale.ROOT);
+            return exact ? actual.equals(value) : actual.contains(value);
+        }
+
+        private String valueOf(Person person) {
+            switch (field) {
+                case DEPARTMENT: return person.getDepartment();
+                case GENDER: return person.getGender();
+                case SUBJECT: return person instanceof Teacher ? ((Teacher) person).getSubject() : null;
+                case DESIGNATION: return person instanceof Teacher ? ((Teacher) person).getDesignation() : null;
+                case NAME: return person.getName();
+                case EMAIL: return person.getEmail();
+                case ID: return person.getId();
+                default: return person.getAddress();
+            }
+        }
+    }
+
+    // Age between from and to, inclusive
+    static final class AgeRange extends Node {
+        final int from;
+        final int to;
+
+        AgeRange(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        boolean test(Person person) {
+            Integer age = ageOf(person);
+            return age != null && age >= from && age <= to;
+        }
+    }
+
+    // Registration day between from and to, inclusive; null leaves that end open
+    static final class DateRange extends Node {
+        final String from;
+        final String to;
+
+        DateRange(LocalDate from, LocalDate to) {
+            this.from = from == null ? null : from.toString();
+            this.to = to == null ? null : to.toString();
+        }
+
+        @Override
+        boolean test(Person person) {
+            String day = dayOf(person);
+            return day != null && (from == null || day.compareTo(from) >= 0) && (to == null || day.compareTo(to) <= 0);
+        }
+    }
+
+    // The age as a number, or null when it is not one
+    static Integer ageOf(Person person) {
+        try {
+            return person.getAge() == null ? null : Integer.valueOf(person.getAge().trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // The yyyy-MM-dd part of the registration timestamp, which sorts chronologically
+    static String dayOf(Person person) {
+        String date = person.getRegistrationDate();
+        return date == null || date.length() < 10 ? null : date.substring(0, 10);
+    }
+}
@@ -0,0 +1,111 @@
+package GUI.Entity;
+
+import java.lang.*;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.*;
+import java.util.function.Predicate;
+
+// A roster kept sorted in one RosterOrder, for paged views.
+// Records sit in a tree keyed by (sort value, ID), so the order is total and an
+// edit or delete finds its entry directly. Name keys are collation keys, computed
+// once when a record is added; comparing two of them is a plain byte comparison,
+// unlike Collator.compare, which re-analyses both strings on every call.
+//
+// A page is read by seeking just past the cursor (the key of the last record of
+// the previous page) and walking forward, so "the next 50 after X" costs
+// O(log n + 50) and never re-sorts, however the roster changes in between.
+public class SortedIndex<T extends Person> {
+    private final RosterOrder order;
+    private final Collator collator;
+    private final TreeMap<Cursor, T> sorted;
+    private final Map<String, Cursor> keys = new HashMap<>();
+
+    public SortedIndex(RosterOrder order) {
+        this.order = order;
+        this.collator = Collator.getInstance();
+        collator.setStrength(Collator.TERTIARY);
+        this.sorted = new TreeMap<>(comparator(order == RosterOrder.NEWEST));
+    }
+
+    public synchronized void add(T record) {
+        remove(record.getId());
+        Cursor key = new Cursor(order, sortKey(record), record.getId());
+        sorted.put(key, record);
+        keys.put(record.getId(), key);
+    }
+
+    public synchronized void remove(String id) {
+        Cursor key = keys.remove(id);
+        if (key != null) {
+            sorted.remove(key);
+        }
+    }
+
+    // Up to limit records after the cursor (from the start when null) that pass the filter
+    public synchronized Page<T> page(Cursor after, int limit, Predicate<? super T> filter) {
+        if (after != null && after.order != order) {
+            throw new IllegalArgumentException("Cursor from the " + after.order + " order used for " + order);
+        }
+        NavigableMap<Cursor, T> rest = after == null ? sorted : sorted.tailMap(after, false);
+        List<T> records = new ArrayList<>(Math.min(limit, 256));
+        Cursor last = null;
+        for (Map.Entry<Cursor, T> entry : rest.entrySet()) {
+            if (records.size() == limit) {
+                return new Page<>(records, last);
+            }
+            if (filter.test(entry.getValue())) {
+                records.add(entry.getValue());
+                last = entry.getKey();
+            }
+        }
+        return new Page<>(records, null);
+    }
+
+    private Comparable<?> sortKey(T record) {
+        switch (order) {
+            case NAME:
+                return record.getName() == null ? null : collator.getCollationKey(record.getName().trim());
+            case NEWEST:
+                return record.getRegistrationDate();
+            case AGE:
+                return RosterQuery.ageOf(record);
+            default:
+                return record.getId();
+        }
+    }
+
+    // By sort value (reversed for a descending order), records without one last, then by ID
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<Cursor> comparator(boolean descending) {
+        return (a, b) -> {
+            if (a.value != b.value) {
+                if (a.value == null) {
+                    return 1;
+                }
+                if (b.value == null) {
+                    return -1;
+                }
+                int byValue = ((Comparable) a.value).compareTo(b.value);
+                if (byValue != 0) {
+                    return descending ? -byValue : byValue;
+                }
+            }
+            return a.id.compareTo(b.id);
+        };
+    }
+
+    // Position of a record in the sort: its sort value and ID.
+    // Opaque outside the index; pages hand them out as cursors.
+    public static final class Cursor {
+        private final RosterOrder order;
+        private final Comparable<?> value;
+        private final String id;
+
+        Cursor(RosterOrder order, Comparable<?> value, String id) {
+            this.order = order;
+            this.value = value;
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package GUI.Entity;
+
+import java.lang.*;
+import java.io.*;
+import java.sql.*;
+
+// Chooses the StorageBackend for each roster at startup.
+// -Dfox.storage=csv (default) keeps the CSV files in USER_DATA_DIR;
+// -Dfox.storage=jdbc stores the rosters as tables of the embedded database at
+// -Dfox.jdbc.url (an H2 file database in USER_DATA_DIR by default). The JDBC driver
+// jar goes into lib/. If the database cannot be opened the CSV files are used.
+public final class Storage {
+    public static final String CSV = "csv";
+    public static final String JDBC = "jdbc";
+    public static final String DEFAULT_JDBC_URL = "jdbc:h2:./" + Person.USER_DATA_DIR + "/fox";
+
+    private Storage() {
+    }
+
+    public static String getBackendName() {
+        return System.getProperty("fox.storage", CSV).trim().toLowerCase();
+    }
+
+    public static String getJdbcUrl() {
+        return System.getProperty("fox.jdbc.url", DEFAULT_JDBC_URL);
+    }
+
+    // Backend for the roster with the given table name, CSV file and columns
+    public static StorageBackend open(String table, String csvFile, String[] columns, String recordFile) {
+        String backend = getBackendName();
+        if (JDBC.equals(backend)) {
+            try {
+                return new JdbcStorage(getJdbcUrl(), table, columns);
+            } catch (SQLException e) {
+                System.err.println("Error opening database " + getJdbcUrl() + ": " + e.getMessage()
+                        + "; using " + csvFile + " instead");
+            }
+        } else if (!CSV.equals(backend)) {
+            System.err.println("Unknown storage backend '" + backend + "'; using " + csvFile);
+        }
+        return new CsvStorage(csvFile, columns, recordFile);
+    }
+}
@@ -0,0 +1,32 @@
+package GUI.Entity;
+
+import java.lang.*;
+import java.io.*;
+import java.util.*;
+import java.util.stream.Stream;
+
+// Where a roster is persisted. Records are passed as field arrays in the roster's
+// column order, with the ID as the first field. Implementations must be safe to
+// use from several threads.
+public interface StorageBackend {
+    // Every live record; the caller must close the stream
+    Stream<String[]> streamAll() throws IOException;
+
+    // The record with the given ID, or null
+    String[] findById(String id) throws IOException;
+
+    Set<String> getIds() throws IOException;
+
+    // Add a record, replacing any record with the same ID
+    void put(String[] record) throws IOException;
+
+    // Replace an existing record; false if the ID is unknown
+    boolean update(String[] record) throws IOException;
+
+    // Add new records in one write; records whose ID already exists are skipped.
+    // The returned flags tell which records were written.
+    boolean[] insertAll(List<String[]> records) throws IOException;
+
+    // Remove a record; false if the ID is unknown
+    boolean delete(String id) throws IOException;
+}
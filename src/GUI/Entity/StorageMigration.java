@@ -0,0 +1,57 @@
+package GUI.Entity;
+
+import java.lang.*;
+import java.io.*;
+import java.sql.*;
+import java.util.*;
+import java.util.stream.*;
+
+// Copies the student and teacher rosters between the CSV files and the embedded
+// database. Records whose ID already exists in the target are left alone, so the
+// migration can be run again safely.
+//
+// Usage: java -cp "bin;lib/*" GUI.Entity.StorageMigration to-jdbc [jdbc url]
+//        java -cp "bin;lib/*" GUI.Entity.StorageMigration to-csv [jdbc url]
+public class StorageMigration {
+
+    // Copy every record of one backend into another; returns the number copied
+    public static int copy(StorageBackend source, StorageBackend target) throws IOException {
+        List<String[]> records;
+        try (Stream<String[]> rows = source.streamAll()) {
+            records = rows.collect(Collectors.toList());
+        }
+        int copied = 0;
+        for (boolean inserted : target.insertAll(records)) {
+            if (inserted) {
+                copied++;
+            }
+        }
+        return copied;
+    }
+
+    private static int migrate(String table, String csvFile, String[] columns, String url, boolean toJdbc)
+            throws IOException, SQLException {
+        StorageBackend csv = new CsvStorage(csvFile, columns, null);
+        StorageBackend jdbc = new JdbcStorage(url, table, columns);
+        return toJdbc ? copy(csv, jdbc) : copy(jdbc, csv);
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 2 || !(args[0].equals("to-jdbc") || args[0].equals("to-csv"))) {
+            System.err.println("Usage: StorageMigration to-jdbc [jdbc url]");
+            System.err.println("       StorageMigration to-csv [jdbc url]");
+            System.exit(1);
+        }
+        boolean toJdbc = args[0].equals("to-jdbc");
+        String url = args.length > 1 ? args[1] : Storage.getJdbcUrl();
+        try {
+            int students = migrate(Student.TABLE, Student.CSV_FILE, Student.COLUMNS, url, toJdbc);
+            int teachers = migrate(Teacher.TABLE, Teacher.CSV_FILE, Teacher.COLUMNS, url, toJdbc);
+            System.out.println("Migrated " + students + " students and " + teachers + " teachers "
+                    + (toJdbc ? "to " + url : "from " + url));
+        } catch (IOException | SQLException e) {
+            System.err.println("Error migrating to " + (toJdbc ? url : "CSV") + ": " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
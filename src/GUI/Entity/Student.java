@@ -2,12 +2,17 @@ package GUI.Entity;
 
 import java.lang.*;
 import java.io.*;
-import java.nio.file.*;
-import java.util.Random;
 
 public class Student extends Person {
-    private static final String CSV_FILE = USER_DATA_DIR + File.separator + "students.csv";
+    static final String TABLE = "students";
+    static final String CSV_FILE = USER_DATA_DIR + File.separator + "students.csv";
+    private static final String RECORD_FILE = USER_DATA_DIR + File.separator + "students.bin";
     private static final String ID_PREFIX = "STU";
+    private static final String CSV_HEADER = "ID,Name,Age,Email,Department,Gender,Address,PhotoPath,RegistrationDate";
+    static final String[] COLUMNS = CSV_HEADER.split(",");
+    private static final StorageBackend STORAGE = Storage.open(TABLE, CSV_FILE, COLUMNS, RECORD_FILE);
+    private static final IdAllocator ID_ALLOCATOR = new IdAllocator(ID_PREFIX,
+            USER_DATA_DIR + File.separator + "students.idseq", Student::liveIds);
     
     public Student(String name, String age, String email, String department, 
                    String gender, String address, String photoPath) {
@@ -20,154 +25,146 @@ public class Student extends Person {
         }
     }
     
+    // Restore a persisted student without any file I/O or ID generation
+    private Student(String id, String name, String age, String email, String department,
+                    String gender, String address, String photoPath, String registrationDate) {
+        super(id, name, age, email, department, gender, address, photoPath, registrationDate);
+    }
+    
     @Override
     public String generateId() {
-        // Generate a random 6-digit number
-        Random random = new Random();
-        int randomNum = 100000 + random.nextInt(900000);
-        return ID_PREFIX + "-" + randomNum;
+        // Unique 6-digit number, never one already in the roster
+        return ID_ALLOCATOR.allocate();
+    }
+    
+    private static java.util.Collection<String> liveIds() {
+        try {
+            return STORAGE.getIds();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read existing student IDs", e);
+        }
     }
     
     @Override
     public String getCSVHeader() {
-        return "ID,Name,Age,Email,Department,Gender,Address,PhotoPath,RegistrationDate";
+        return CSV_HEADER;
     }
     
     @Override
-    public String toCSVString() {
-        return String.join(",",
-            escapeCSV(id),
-            escapeCSV(name),
-            escapeCSV(age),
-            escapeCSV(email),
-            escapeCSV(department),
-            escapeCSV(gender),
-            escapeCSV(address),
-            escapeCSV(photoPath),
-            escapeCSV(registrationDate)
-        );
+    public String[] toRecord() {
+        return new String[] {
+            id,
+            name,
+            age,
+            email,
+            department,
+            gender,
+            address,
+            photoPath,
+            registrationDate
+        };
     }
     
     @Override
     public void saveToCSV() {
         try {
-            Path csvPath = Paths.get(CSV_FILE);
-            boolean fileExists = Files.exists(csvPath);
+            STORAGE.put(toRecord());
             
-            // Create file if it doesn't exist and write header
-            if (!fileExists) {
-                try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(csvPath))) {
-                    writer.println(getCSVHeader());
-                }
-            }
-            
-            // Append student data
-            try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(csvPath, 
-                    StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
-                writer.println(toCSVString());
-            }
-            
-            System.out.println("Student data saved successfully to " + CSV_FILE);
+            System.out.println("Student data saved successfully");
             
         } catch (IOException e) {
-            System.err.println("Error saving student data to CSV: " + e.getMessage());
+            System.err.println("Error saving student data: " + e.getMessage());
             throw new RuntimeException("Failed to save student data", e);
         }
     }
     
+    // Write the edited record over the stored one; false if it was never saved
     @Override
-    public void deleteFromCSV(String studentId) {
-        File inputFile = new File(CSV_FILE);
-        File tempFile = new File(CSV_FILE + ".tmp");
-
-        try (
-            BufferedReader reader = new BufferedReader(new FileReader(inputFile));
-            PrintWriter writer = new PrintWriter(new FileWriter(tempFile))
-        ) {
-            String line;
-            boolean isFirstLine = true;
-            while ((line = reader.readLine()) != null) {
-                if (isFirstLine) {
-                    writer.println(line); // header
-                    isFirstLine = false;
-                    continue;
-                }
-                String[] data = parseCSVLine(line);
-                if (data.length > 0 && !data[0].equals(studentId)) {
-                    writer.println(line);
-                }
+    public boolean update() {
+        try {
+            boolean updated = STORAGE.update(toRecord());
+            if (updated) {
+                System.out.println("Student " + id + " updated successfully");
             }
+            return updated;
         } catch (IOException e) {
-            System.err.println("Error deleting student: " + e.getMessage());
-            return;
-        }
-
-        // Replace original file with temp file
-        if (!inputFile.delete() || !tempFile.renameTo(inputFile)) {
-            System.err.println("Error updating student file after deletion.");
+            System.err.println("Error updating student data: " + e.getMessage());
+            throw new RuntimeException("Failed to update student data", e);
         }
     }
     
-    // Static method to read all students from CSV
-    public static java.util.List<Student> loadAllFromCSV() {
+    @Override
+    public Student copy() {
+        return (Student) super.copy();
+    }
+    
+    // Save a batch of students through one write and one flush, e.g. for mass enrolment.
+    // Records that are not students or whose ID is already saved are reported as failures.
+    public static BatchResult<Student> saveAll(java.util.Collection<? extends Person> people) {
+        BatchResult<Student> result = new BatchResult<>();
         java.util.List<Student> students = new java.util.ArrayList<>();
-        Path csvPath = Paths.get(CSV_FILE);
-        
-        if (!Files.exists(csvPath)) {
-            return students;
+        java.util.List<String[]> records = new java.util.ArrayList<>();
+        for (Person person : people) {
+            if (!(person instanceof Student)) {
+                result.addFailure(person, "Not a student");
+                continue;
+            }
+            students.add((Student) person);
+            records.add(person.toRecord());
         }
         
-        try (java.io.BufferedReader reader = Files.newBufferedReader(csvPath)) {
-            String line;
-            boolean isFirstLine = true;
-            
-            while ((line = reader.readLine()) != null) {
-                if (isFirstLine) {
-                    isFirstLine = false;
-                    continue; // Skip header
-                }
-                
-                String[] parts = parseCSVLine(line);
-                if (parts.length >= 9) {
-                    Student student = new Student(parts[1], parts[2], parts[3], parts[4], 
-                                                parts[5], parts[6], parts[7]);
-                    student.id = parts[0];
-                    student.registrationDate = parts[8];
-                    students.add(student);
+        try {
+            boolean[] inserted = STORAGE.insertAll(records);
+            for (int i = 0; i < students.size(); i++) {
+                if (inserted[i]) {
+                    result.addSaved(students.get(i));
+                } else {
+                    result.addFailure(students.get(i), "Duplicate student ID " + students.get(i).getId());
                 }
             }
+            System.out.println(result.getSavedCount() + " students saved successfully");
         } catch (IOException e) {
-            System.err.println("Error reading students from CSV: " + e.getMessage());
+            System.err.println("Error saving student data: " + e.getMessage());
+            for (Student student : students) {
+                result.addFailure(student, "Failed to save student data: " + e.getMessage());
+            }
         }
-        
-        return students;
+        return result;
     }
     
-    // Utility method to parse CSV line handling quoted values
-    private static String[] parseCSVLine(String line) {
-        java.util.List<String> result = new java.util.ArrayList<>();
-        boolean inQuotes = false;
-        StringBuilder currentField = new StringBuilder();
-        
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            
-            if (c == '"') {
-                if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
-                    currentField.append('"');
-                    i++; // Skip next quote
-                } else {
-                    inQuotes = !inQuotes;
-                }
-            } else if (c == ',' && !inQuotes) {
-                result.add(currentField.toString());
-                currentField = new StringBuilder();
-            } else {
-                currentField.append(c);
-            }
+    @Override
+    public void deleteFromCSV(String studentId) {
+        try {
+            STORAGE.delete(studentId);
+        } catch (IOException e) {
+            System.err.println("Error deleting student: " + e.getMessage());
         }
-        result.add(currentField.toString());
-        
-        return result.toArray(new String[0]);
+    }
+    
+    // Static method to read all students from storage
+    public static java.util.List<Student> loadAllFromCSV() {
+        try (java.util.stream.Stream<Student> students = streamAll()) {
+            return students.parallel().collect(java.util.stream.Collectors.toList());
+        }
+    }
+    
+    // Stream all persisted students without materializing them in a list.
+    // Rows are hydrated lazily and without side effects; close the stream when done.
+    public static java.util.stream.Stream<Student> streamAll() {
+        try {
+            java.util.stream.Stream<String[]> records = STORAGE.streamAll();
+            return records
+                    .filter(parts -> parts.length >= 9)
+                    .map(Student::fromRow)
+                    .onClose(records::close);
+        } catch (IOException e) {
+            System.err.println("Error reading students: " + e.getMessage());
+            return java.util.stream.Stream.empty();
+        }
+    }
+    
+    private static Student fromRow(String[] parts) {
+        return new Student(parts[0], parts[1], parts[2], parts[3], parts[4],
+                           parts[5], parts[6], parts[7], parts[8]);
     }
 }
\ No newline at end of file
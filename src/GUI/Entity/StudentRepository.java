@@ -0,0 +1,27 @@
+package GUI.Entity;
+
+import java.lang.*;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+// Shared student roster used by the registration form and the student list
+public class StudentRepository extends Repository<Student> {
+    private static final StudentRepository INSTANCE = new StudentRepository();
+
+    private StudentRepository() {
+    }
+
+    public static StudentRepository getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    protected Stream<Student> loadAll() {
+        return Student.streamAll();
+    }
+
+    @Override
+    protected BatchResult<Student> saveAll(Collection<? extends Student> newRecords) {
+        return Student.saveAll(newRecords);
+    }
+}
@@ -2,15 +2,23 @@ package GUI.Entity;
 
 import java.lang.*;
 import java.io.*;
-import java.nio.file.*;
-import java.util.Random;
 
 public class Teacher extends Person {
     private String subject;
     private String designation;
     
-    private static final String CSV_FILE = USER_DATA_DIR + File.separator + "teachers.csv";
+    public static final String FACET_SUBJECT = "Subject";
+    public static final String FACET_DESIGNATION = "Designation";
+    
+    static final String TABLE = "teachers";
+    static final String CSV_FILE = USER_DATA_DIR + File.separator + "teachers.csv";
+    private static final String RECORD_FILE = USER_DATA_DIR + File.separator + "teachers.bin";
     private static final String ID_PREFIX = "TCH";
+    private static final String CSV_HEADER = "ID,Name,Age,Email,Department,Subject,Designation,Gender,Address,PhotoPath,RegistrationDate";
+    static final String[] COLUMNS = CSV_HEADER.split(",");
+    private static final StorageBackend STORAGE = Storage.open(TABLE, CSV_FILE, COLUMNS, RECORD_FILE);
+    private static final IdAllocator ID_ALLOCATOR = new IdAllocator(ID_PREFIX,
+            USER_DATA_DIR + File.separator + "teachers.idseq", Teacher::liveIds);
     
     public Teacher(String name, String age, String email, String department, 
                    String subject, String designation, String gender, String address, String photoPath) {
@@ -25,160 +33,170 @@ public class Teacher extends Person {
         }
     }
     
+    // Restore a persisted teacher without any file I/O or ID generation
+    private Teacher(String id, String name, String age, String email, String department,
+                    String subject, String designation, String gender, String address,
+                    String photoPath, String registrationDate) {
+        super(id, name, age, email, department, gender, address, photoPath, registrationDate);
+        this.subject = subject;
+        this.designation = designation;
+    }
+    
     @Override
     public String generateId() {
-        // Generate a random 6-digit number
-        Random random = new Random();
-        int randomNum = 100000 + random.nextInt(900000);
-        return ID_PREFIX + "-" + randomNum;
+        // Unique 6-digit number, never one already in the roster
+        return ID_ALLOCATOR.allocate();
+    }
+    
+    private static java.util.Collection<String> liveIds() {
+        try {
+            return STORAGE.getIds();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read existing teacher IDs", e);
+        }
     }
     
     @Override
     public String getCSVHeader() {
-        return "ID,Name,Age,Email,Department,Subject,Designation,Gender,Address,PhotoPath,RegistrationDate";
+        return CSV_HEADER;
     }
     
     @Override
-    public String toCSVString() {
-        return String.join(",",
-            escapeCSV(id),
-            escapeCSV(name),
-            escapeCSV(age),
-            escapeCSV(email),
-            escapeCSV(department),
-            escapeCSV(subject),
-            escapeCSV(designation),
-            escapeCSV(gender),
-            escapeCSV(address),
-            escapeCSV(photoPath),
-            escapeCSV(registrationDate)
-        );
+    public String[] toRecord() {
+        return new String[] {
+            id,
+            name,
+            age,
+            email,
+            department,
+            subject,
+            designation,
+            gender,
+            address,
+            photoPath,
+            registrationDate
+        };
     }
     
     @Override
     public void saveToCSV() {
         try {
-            Path csvPath = Paths.get(CSV_FILE);
-            boolean fileExists = Files.exists(csvPath);
-            
-            // Create file if it doesn't exist and write header
-            if (!fileExists) {
-                try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(csvPath))) {
-                    writer.println(getCSVHeader());
-                }
-            }
-            
-            // Append teacher data
-            try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(csvPath, 
-                    StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
-                writer.println(toCSVString());
-            }
+            STORAGE.put(toRecord());
             
-            System.out.println("Teacher data saved successfully to " + CSV_FILE);
+            System.out.println("Teacher data saved successfully");
             
         } catch (IOException e) {
-            System.err.println("Error saving teacher data to CSV: " + e.getMessage());
+            System.err.println("Error saving teacher data: " + e.getMessage());
             throw new RuntimeException("Failed to save teacher data", e);
         }
     }
     
+    // Write the edited record over the stored one; false if it was never saved
     @Override
-    public void deleteFromCSV(String teacherId) {
-        File inputFile = new File(CSV_FILE);
-        File tempFile = new File(CSV_FILE + ".tmp");
-
-        try (
-            BufferedReader reader = new BufferedReader(new FileReader(inputFile));
-            PrintWriter writer = new PrintWriter(new FileWriter(tempFile))
-        ) {
-            String line;
-            boolean isFirstLine = true;
-            while ((line = reader.readLine()) != null) {
-                if (isFirstLine) {
-                    writer.println(line); // header
-                    isFirstLine = false;
-                    continue;
-                }
-                String[] data = line.split(",");
-                if (data.length > 0 && !data[0].equals(teacherId)) {
-                    writer.println(line);
-                }
+    public boolean update() {
+        try {
+            boolean updated = STORAGE.update(toRecord());
+            if (updated) {
+                System.out.println("Teacher " + id + " updated successfully");
             }
+            return updated;
         } catch (IOException e) {
-            System.err.println("Error deleting teacher: " + e.getMessage());
-            return;
-        }
-
-        // Replace original file with temp file
-        if (!inputFile.delete() || !tempFile.renameTo(inputFile)) {
-            System.err.println("Error updating teacher file after deletion.");
+            System.err.println("Error updating teacher data: " + e.getMessage());
+            throw new RuntimeException("Failed to update teacher data", e);
         }
     }
     
-    // Static method to read all teachers from CSV
-    public static java.util.List<Teacher> loadAllFromCSV() {
+    @Override
+    public String[] getSearchFields() {
+        return new String[] { name, id, email, department, subject, designation, gender, address };
+    }
+    
+    @Override
+    public java.util.Map<String, String> getFacets() {
+        java.util.Map<String, String> facets = super.getFacets();
+        facets.put(FACET_SUBJECT, subject);
+        facets.put(FACET_DESIGNATION, designation);
+        return facets;
+    }
+    
+    @Override
+    public Teacher copy() {
+        return (Teacher) super.copy();
+    }
+    
+    // Save a batch of teachers through one write and one flush, e.g. for mass enrolment.
+    // Records that are not teachers or whose ID is already saved are reported as failures.
+    public static BatchResult<Teacher> saveAll(java.util.Collection<? extends Person> people) {
+        BatchResult<Teacher> result = new BatchResult<>();
         java.util.List<Teacher> teachers = new java.util.ArrayList<>();
-        Path csvPath = Paths.get(CSV_FILE);
-        
-        if (!Files.exists(csvPath)) {
-            return teachers;
+        java.util.List<String[]> records = new java.util.ArrayList<>();
+        for (Person person : people) {
+            if (!(person instanceof Teacher)) {
+                result.addFailure(person, "Not a teacher");
+                continue;
+            }
+            teachers.add((Teacher) person);
+            records.add(person.toRecord());
         }
         
-        try (java.io.BufferedReader reader = Files.newBufferedReader(csvPath)) {
-            String line;
-            boolean isFirstLine = true;
-            
-            while ((line = reader.readLine()) != null) {
-                if (isFirstLine) {
-                    isFirstLine = false;
-                    continue; // Skip header
-                }
-                
-                String[] parts = parseCSVLine(line);
-                if (parts.length >= 11) {
-                    Teacher teacher = new Teacher(parts[1], parts[2], parts[3], parts[4], 
-                                                parts[5], parts[6], parts[7], parts[8], parts[9]);
-                    teacher.id = parts[0];
-                    teacher.registrationDate = parts[10];
-                    teachers.add(teacher);
+        try {
+            boolean[] inserted = STORAGE.insertAll(records);
+            for (int i = 0; i < teachers.size(); i++) {
+                if (inserted[i]) {
+                    result.addSaved(teachers.get(i));
+                } else {
+                    result.addFailure(teachers.get(i), "Duplicate teacher ID " + teachers.get(i).getId());
                 }
             }
+            System.out.println(result.getSavedCount() + " teachers saved successfully");
         } catch (IOException e) {
-            System.err.println("Error reading teachers from CSV: " + e.getMessage());
+            System.err.println("Error saving teacher data: " + e.getMessage());
+            for (Teacher teacher : teachers) {
+                result.addFailure(teacher, "Failed to save teacher data: " + e.getMessage());
+            }
         }
-        
-        return teachers;
+        return result;
     }
     
-    // Utility method to parse CSV line handling quoted values
-    private static String[] parseCSVLine(String line) {
-        java.util.List<String> result = new java.util.ArrayList<>();
-        boolean inQuotes = false;
-        StringBuilder currentField = new StringBuilder();
-        
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            
-            if (c == '"') {
-                if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
-                    currentField.append('"');
-                    i++; // Skip next quote
-                } else {
-                    inQuotes = !inQuotes;
-                }
-            } else if (c == ',' && !inQuotes) {
-                result.add(currentField.toString());
-                currentField = new StringBuilder();
-            } else {
-                currentField.append(c);
-            }
+    @Override
+    public void deleteFromCSV(String teacherId) {
+        try {
+            STORAGE.delete(teacherId);
+        } catch (IOException e) {
+            System.err.println("Error deleting teacher: " + e.getMessage());
         }
-        result.add(currentField.toString());
-        
-        return result.toArray(new String[0]);
+    }
+    
+    // Static method to read all teachers from storage
+    public static java.util.List<Teacher> loadAllFromCSV() {
+        try (java.util.stream.Stream<Teacher> teachers = streamAll()) {
+            return teachers.parallel().collect(java.util.stream.Collectors.toList());
+        }
+    }
+    
+    // Stream all persisted teachers without materializing them in a list.
+    // Rows are hydrated lazily and without side effects; close the stream when done.
+    public static java.util.stream.Stream<Teacher> streamAll() {
+        try {
+            java.util.stream.Stream<String[]> records = STORAGE.streamAll();
+            return records
+                    .filter(parts -> parts.length >= 11)
+                    .map(Teacher::fromRow)
+                    .onClose(records::close);
+        } catch (IOException e) {
+            System.err.println("Error reading teachers: " + e.getMessage());
+            return java.util.stream.Stream.empty();
+        }
+    }
+    
+    private static Teacher fromRow(String[] parts) {
+        return new Teacher(parts[0], parts[1], parts[2], parts[3], parts[4], parts[5],
+                           parts[6], parts[7], parts[8], parts[9], parts[10]);
     }
     
     // Getters for teacher-specific fields
     public String getSubject() { return subject; }
     public String getDesignation() { return designation; }
+    public void setSubject(String subject) { this.subject = subject; }
+    public void setDesignation(String designation) { this.designation = designation; }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package GUI.Entity;
+
+import java.lang.*;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+// Shared teacher roster used by the registration form and the teacher list
+public class TeacherRepository extends Repository<Teacher> {
+    private static final TeacherRepository INSTANCE = new TeacherRepository();
+
+    private TeacherRepository() {
+    }
+
+    public static TeacherRepository getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    protected Stream<Teacher> loadAll() {
+        return Teacher.streamAll();
+    }
+
+    @Override
+    protected BatchResult<Teacher> saveAll(Collection<? extends Teacher> newRecords) {
+        return Teacher.saveAll(newRecords);
+    }
+}
@@ -0,0 +1,182 @@
+package GUI.Entity;
+
+import java.lang.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.File;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.*;
+
+// Process-wide cache of decoded thumbnails, shared by the roster cards and the
+// registration preview, so a photo shown a moment ago is not read and scaled again.
+// Entries are keyed by photo path, the file's modification time and the thumbnail
+// size; a replaced photo has a new time and simply misses. Thumbnails are held
+// strongly in least-recently-used order up to a byte budget (-Dfox.thumbnailCacheBytes,
+// 8 MB by default, about 250 card photos). Past the budget the oldest ones are only
+// softly reachable: they are still served until the garbage collector needs the memory.
+// A miss is counted when a photo has to be read, not for a get() that finds nothing.
+public class ThumbnailCache {
+    public static final long DEFAULT_BUDGET_BYTES = 8L * 1024 * 1024;
+
+    private static final ThumbnailCache SHARED =
+            new ThumbnailCache(Long.getLong("fox.thumbnailCacheBytes", DEFAULT_BUDGET_BYTES));
+
+    private final long budgetBytes;
+    private final LinkedHashMap<Key, BufferedImage> recent = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<Key, SpilledImage> spilled = new HashMap<>();
+    private final ReferenceQueue<BufferedImage> collected = new ReferenceQueue<>();
+    private long bytes;
+    private long hits;
+    private long spillHits;
+    private long misses;
+    private long evictions;
+
+    public ThumbnailCache(long budgetBytes) {
+        if (budgetBytes < 0) {
+            throw new IllegalArgumentException("Negative thumbnail cache budget: " + budgetBytes);
+        }
+        this.budgetBytes = budgetBytes;
+    }
+
+    public static ThumbnailCache shared() {
+        return SHARED;
+    }
+
+    // The cached thumbnail, or null; cheap enough to call on the EDT
+    public BufferedImage get(String photoPath, int width, int height) {
+        Key key = key(photoPath, width, height);
+        return key == null ? null : lookup(key, false);
+    }
+
+    // The cached thumbnail, or else the photo read and scaled now (see Thumbnails.read)
+    // and cached; null if there is no readable photo
+    public BufferedImage load(String photoPath, int width, int height) {
+        Key key = key(photoPath, width, height);
+        if (key == null) {
+            return null;
+        }
+        BufferedImage thumbnail = lookup(key, true);
+        if (thumbnail == null) {
+            thumbnail = Thumbnails.read(photoPath, width, height);
+            if (thumbnail != null) {
+                put(key, thumbnail);
+            }
+        }
+        return thumbnail;
+    }
+
+    private static Key key(String photoPath, int width, int height) {
+        if (photoPath == null || photoPath.trim().isEmpty()) {
+            return null;
+        }
+        File photoFile = Thumbnails.resolve(photoPath);
+        long modified = photoFile.lastModified();
+        return modified == 0 ? null : new Key(photoFile.getPath(), modified, width, height);
+    }
+
+    private synchronized BufferedImage lookup(Key key, boolean countMiss) {
+        BufferedImage thumbnail = recent.get(key);
+        if (thumbnail != null) {
+            hits++;
+            return thumbnail;
+        }
+        purgeCollected();
+        SpilledImage spill = spilled.remove(key);
+        thumbnail = spill == null ? null : spill.get();
+        if (thumbnail != null) {
+            spillHits++;
+            put(key, thumbnail); // back in the strongly held set as the most recent
+            return thumbnail;
+        }
+        if (countMiss) {
+            misses++;
+        }
+        return null;
+    }
+
+    private synchronized void put(Key key, BufferedImage thumbnail) {
+        BufferedImage previous = recent.put(key, thumbnail);
+        if (previous != null) {
+            bytes -= sizeOf(previous);
+        }
+        bytes += sizeOf(thumbnail);
+        Iterator<Map.Entry<Key, BufferedImage>> eldest = recent.entrySet().iterator();
+        while (bytes > budgetBytes && eldest.hasNext()) {
+            Map.Entry<Key, BufferedImage> entry = eldest.next();
+            if (entry.getKey().equals(key) && recent.size() == 1) {
+                break; // a single thumbnail larger than the budget is still kept
+            }
+            bytes -= sizeOf(entry.getValue());
+            spilled.put(entry.getKey(), new SpilledImage(entry.getKey(), entry.getValue(), collected));
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    // Drop the spilled entries whose images the garbage collector has reclaimed
+    private void purgeCollected() {
+        for (Object cleared = collected.poll(); cleared != null; cleared = collected.poll()) {
+            SpilledImage spill = (SpilledImage) cleared;
+            if (spilled.get(spill.key) == spill) {
+                spilled.remove(spill.key);
+            }
+        }
+    }
+
+    static long sizeOf(BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+    }
+
+    public synchronized long getHits() { return hits; }
+    public synchronized long getSpillHits() { return spillHits; }
+    public synchronized long getMisses() { return misses; }
+    public synchronized long getEvictions() { return evictions; }
+    public synchronized long getBytes() { return bytes; }
+    public synchronized int getSize() { return recent.size(); }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d thumbnails, %,d of %,d bytes; %d hits (%d from spill), %d misses, %d evictions",
+                recent.size(), bytes, budgetBytes, hits + spillHits, spillHits, misses, evictions);
+    }
+
+    private static final class Key {
+        private final String path;
+        private final long modified;
+        private final int width;
+        private final int height;
+
+        Key(String path, long modified, int width, int height) {
+            this.path = path;
+            this.modified = modified;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return modified == other.modified && width == other.width && height == other.height
+                    && path.equals(other.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, modified, width, height);
+        }
+    }
+
+    private static final class SpilledImage extends SoftReference<BufferedImage> {
+        private final Key key;
+
+        SpilledImage(Key key, BufferedImage image, ReferenceQueue<BufferedImage> queue) {
+            super(image, queue);
+            this.key = key;
+        }
+    }
+}
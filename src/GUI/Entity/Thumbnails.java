@@ -0,0 +1,204 @@
+package GUI.Entity;
+
+import java.lang.*;
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Decoding and scaling of stored photos down to card-sized thumbnails.
+// Images are shrunk by halving with bilinear filtering until the last step lands on
+// the target size. That looks as smooth as Image.SCALE_SMOOTH (which averages every
+// source pixel) at a fraction of the cost, and it yields a BufferedImage that is
+// ready to paint, where getScaledInstance hands back an image that is only produced
+// when first drawn.
+//
+// Each photo also gets small JPEG sidecars at card size and at twice that for HiDPI
+// screens, kept in a thumbs directory beside it (photos/thumbs/STU-1.png-80x100.jpg).
+// They are written when a photo is saved, and for older photos the first time they are
+// shown or by the startup backfill. A sidecar older than its photo is stale and is
+// rewritten, so a thumbnail costs the same to read whatever the photo's size.
+public class Thumbnails {
+    public static final String SIDECAR_DIR = "thumbs";
+    // Largest first: each size is scaled from the one before
+    private static final int[][] SIDECAR_SIZES = { {160, 200}, {80, 100} };
+
+    private static final ExecutorService BACKFILL = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "Thumbnails-backfill");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private Thumbnails() {
+    }
+
+    // The photo file for a stored path, relative paths being under the working directory
+    public static File resolve(String photoPath) {
+        String normalizedPath = photoPath.replace("\"", "").replace("\\", "/").trim();
+        File photoFile = new File(normalizedPath);
+        if (!photoFile.isAbsolute()) {
+            String projectRoot = System.getProperty("user.dir");
+            photoFile = new File(projectRoot, normalizedPath);
+        }
+        return photoFile;
+    }
+
+    // The photo scaled to exactly width x height, or null if there is no readable photo
+    public static BufferedImage read(String photoPath, int width, int height) {
+        if (photoPath == null || photoPath.trim().isEmpty()) {
+            return null;
+        }
+        File photoFile = resolve(photoPath);
+        if (!photoFile.isFile()) {
+            return null;
+        }
+        // Only stored photos have sidecars; nothing is written beside a file being picked
+        boolean stored = isStored(photoFile);
+        File sidecar = sidecar(photoFile, width, height);
+        if (stored && isFresh(sidecar, photoFile)) {
+            try {
+                BufferedImage thumbnail = ImageIO.read(sidecar);
+                if (thumbnail != null && thumbnail.getWidth() == width && thumbnail.getHeight() == height) {
+                    return thumbnail;
+                }
+            } catch (IOException e) {
+                // Unreadable sidecar: decode the photo and write it again
+            }
+        }
+        try {
+            BufferedImage original = ImageIO.read(photoFile);
+            if (original == null) {
+                return null;
+            }
+            if (stored) {
+                writeSidecars(photoFile, original);
+            }
+            return scale(original, width, height);
+        } catch (IOException e) {
+            System.err.println("Error reading photo " + photoFile + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // The sidecar holding the photo at width x height
+    public static File sidecar(File photoFile, int width, int height) {
+        return new File(new File(photoFile.getParentFile(), SIDECAR_DIR),
+                photoFile.getName() + "-" + width + "x" + height + ".jpg");
+    }
+
+    // Write every sidecar size for a photo; false if it could not be read or written
+    public static boolean writeSidecars(String photoPath) {
+        File photoFile = resolve(photoPath);
+        try {
+            BufferedImage original = ImageIO.read(photoFile);
+            return original != null && writeSidecars(photoFile, original);
+        } catch (IOException e) {
+            System.err.println("Error reading photo " + photoFile + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Write the sidecars of a just-saved photo without holding up the registration
+    public static void writeSidecarsInBackground(String photoPath) {
+        BACKFILL.submit(() -> writeSidecars(photoPath));
+    }
+
+    // Write the missing or stale sidecars of every photo in the directory, on a background
+    // thread so startup is not held up
+    public static void backfillInBackground() {
+        BACKFILL.submit(() -> backfill(new File(Person.PHOTOS_DIR)));
+    }
+
+    // Returns how many photos got new sidecars
+    public static int backfill(File directory) {
+        File[] photos = directory.listFiles(file -> file.isFile()
+                && file.getName().matches("(?i).*\\.(png|jpe?g|gif|bmp)"));
+        int written = 0;
+        for (File photoFile : photos == null ? new File[0] : photos) {
+            for (int[] size : SIDECAR_SIZES) {
+                if (!isFresh(sidecar(photoFile, size[0], size[1]), photoFile)) {
+                    if (writeSidecars(photoFile.getPath())) {
+                        written++;
+                    }
+                    break;
+                }
+            }
+        }
+        return written;
+    }
+
+    private static boolean isStored(File photoFile) {
+        return resolve(Person.PHOTOS_DIR).getAbsoluteFile().equals(photoFile.getAbsoluteFile().getParentFile());
+    }
+
+    private static boolean isFresh(File sidecar, File photoFile) {
+        long written = sidecar.lastModified(); // 0 when there is no sidecar
+        return written != 0 && written >= photoFile.lastModified();
+    }
+
+    // Sidecars go through a temporary file and a rename, so the backfill and a card
+    // loading the same photo never leave a half-written one
+    private static boolean writeSidecars(File photoFile, BufferedImage original) {
+        Path directory = new File(photoFile.getParentFile(), SIDECAR_DIR).toPath();
+        BufferedImage current = original;
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            for (int[] size : SIDECAR_SIZES) {
+                current = opaque(scale(current, size[0], size[1]));
+                temp = Files.createTempFile(directory, photoFile.getName(), ".tmp");
+                if (!ImageIO.write(current, "jpg", temp.toFile())) {
+                    throw new IOException("no JPEG writer");
+                }
+                Files.move(temp, sidecar(photoFile, size[0], size[1]).toPath(),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                temp = null;
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error writing thumbnails for " + photoFile + ": " + e.getMessage());
+            return false;
+        } finally {
+            if (temp != null) {
+                temp.toFile().delete();
+            }
+        }
+    }
+
+    // JPEG has no alpha: transparent parts become the card's white
+    private static BufferedImage opaque(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_RGB) {
+            return image;
+        }
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, image.getWidth(), image.getHeight());
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+        return rgb;
+    }
+
+    public static BufferedImage scale(BufferedImage source, int width, int height) {
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int w = source.getWidth();
+        int h = source.getHeight();
+        do {
+            w = w / 2 > width ? w / 2 : width;
+            h = h / 2 > height ? h / 2 : height;
+            BufferedImage step = new BufferedImage(w, h, type);
+            Graphics2D g = step.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(current, 0, 0, w, h, null);
+            g.dispose();
+            current = step;
+        } while (w != width || h != height);
+        return current;
+    }
+}
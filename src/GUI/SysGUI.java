@@ -3,8 +3,12 @@ package GUI;
 import java.lang.*;
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.KeyEvent;
 import java.net.URL;
 
+import GUI.Entity.Person;
+import GUI.Entity.Student;
+import GUI.Entity.Thumbnails;
 import GUI.panels.*;
 
 public class SysGUI extends JFrame {
@@ -12,6 +16,8 @@ public class SysGUI extends JFrame {
     private CardLayout cardLayout;
     private JPanel contentPanel;
     private NavigationPanel navigationPanel; //  Keep reference to highlight on startup
+    private StudentPanel studentPanel;
+    private TeacherPanel teacherPanel;
 
     public SysGUI() {
         setTitle("Fox University Management System");
@@ -35,6 +41,9 @@ public class SysGUI extends JFrame {
         navigationPanel.highlightButton("Registration");
 
         setVisible(true);
+
+        // Thumbnails for photos saved before they were generated at registration
+        Thumbnails.backfillInBackground();
     }
 
     private void initComponents() {
@@ -48,10 +57,32 @@ public class SysGUI extends JFrame {
 
         // Add content panels with keys
         contentPanel.add(new RegistrationPanel(), "Registration");
-        contentPanel.add(new StudentPanel(), "Students");
-        contentPanel.add(new TeacherPanel(), "Teachers");
+        studentPanel = new StudentPanel();
+        teacherPanel = new TeacherPanel();
+        contentPanel.add(studentPanel, "Students");
+        contentPanel.add(teacherPanel, "Teachers");
 
         add(contentPanel, BorderLayout.CENTER);
+
+        // Ctrl+F opens quick find from anywhere in the window
+        getRootPane().registerKeyboardAction(e -> showQuickFind(),
+                KeyStroke.getKeyStroke(KeyEvent.VK_F, KeyEvent.CTRL_DOWN_MASK), JComponent.WHEN_IN_FOCUSED_WINDOW);
+    }
+
+    // Search both rosters and jump to the chosen person
+    public void showQuickFind() {
+        new QuickFindDialog(this, this::openPerson).setVisible(true);
+    }
+
+    private void openPerson(Person person) {
+        String name = person instanceof Student ? "Students" : "Teachers";
+        switchPanel(name);
+        navigationPanel.highlightButton(name);
+        if (person instanceof Student) {
+            studentPanel.searchFor(person.getId());
+        } else {
+            teacherPanel.searchFor(person.getId());
+        }
     }
 
     // Method to switch panels
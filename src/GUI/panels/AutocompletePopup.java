@@ -0,0 +1,150 @@
+package GUI.panels;
+
+import java.lang.*;
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.*;
+import java.awt.event.*;
+import java.util.List;
+import java.util.function.Function;
+
+// Suggestion list under a text field.
+// Suggestions come from an index lookup that takes microseconds, so they are
+// computed on the EDT as the user types. Up/Down move through the list, Enter or a
+// click puts the chosen suggestion into the field, Escape closes the list.
+class AutocompletePopup<T> {
+    static final int MAX_SUGGESTIONS = 8;
+
+    private final JTextField field;
+    private final Function<String, List<T>> suggest;
+    private final Function<T, String> completion;
+    private final DefaultListModel<T> model = new DefaultListModel<>();
+    private final JList<T> list = new JList<>(model);
+    private final JPopupMenu popup = new JPopupMenu();
+    private boolean accepting;
+
+    // suggest returns the matches for the typed text; label renders one in the list
+    // and completion is the text put into the field when it is chosen
+    AutocompletePopup(JTextField field, Function<String, List<T>> suggest,
+                      Function<T, String> label, Function<T, String> completion) {
+        this.field = field;
+        this.suggest = suggest;
+        this.completion = completion;
+
+        list.setFocusable(false);
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        list.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> l, Object value, int index,
+                                                          boolean selected, boolean focused) {
+                @SuppressWarnings("unchecked")
+                T item = (T) value;
+                return super.getListCellRendererComponent(l, label.apply(item), index, selected, focused);
+            }
+        });
+        list.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                accept();
+            }
+        });
+
+        popup.setFocusable(false);
+        popup.setBorder(BorderFactory.createLineBorder(Color.GRAY));
+        popup.add(new JScrollPane(list));
+
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) { update(); }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) { update(); }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) { }
+        });
+        field.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (!popup.isVisible()) {
+                    return;
+                }
+                switch (e.getKeyCode()) {
+                    case KeyEvent.VK_DOWN:
+                        move(1);
+                        e.consume();
+                        break;
+                    case KeyEvent.VK_UP:
+                        move(-1);
+                        e.consume();
+                        break;
+                    case KeyEvent.VK_ENTER:
+                        if (list.getSelectedIndex() >= 0) {
+                            accept();
+                            e.consume();
+                        }
+                        break;
+                    case KeyEvent.VK_ESCAPE:
+                        popup.setVisible(false);
+                        e.consume();
+                        break;
+                    default:
+                        break;
+                }
+            }
+        });
+        field.addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusLost(FocusEvent e) {
+                popup.setVisible(false);
+            }
+        });
+    }
+
+    private void update() {
+        if (accepting) {
+            return;
+        }
+        String text = field.getText().trim();
+        List<T> suggestions = text.isEmpty() ? null : suggest.apply(text);
+        if (suggestions == null || suggestions.isEmpty() || !field.isShowing()) {
+            popup.setVisible(false);
+            return;
+        }
+        model.clear();
+        for (T suggestion : suggestions) {
+            model.addElement(suggestion);
+        }
+        list.clearSelection();
+        list.setVisibleRowCount(Math.min(suggestions.size(), MAX_SUGGESTIONS));
+        // Re-show so the popup takes the size of the new list
+        popup.setVisible(false);
+        popup.pack();
+        popup.setPopupSize(Math.max(field.getWidth(), popup.getPreferredSize().width),
+                popup.getPreferredSize().height);
+        popup.show(field, 0, field.getHeight());
+    }
+
+    private void move(int step) {
+        int index = list.getSelectedIndex() + step;
+        if (index >= 0 && index < model.size()) {
+            list.setSelectedIndex(index);
+            list.ensureIndexIsVisible(index);
+        }
+    }
+
+    private void accept() {
+        T chosen = list.getSelectedValue();
+        popup.setVisible(false);
+        if (chosen == null) {
+            return;
+        }
+        accepting = true;
+        try {
+            field.setText(completion.apply(chosen));
+        } finally {
+            accepting = false;
+        }
+    }
+}
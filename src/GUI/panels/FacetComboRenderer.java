@@ -0,0 +1,57 @@
+package GUI.panels;
+
+import java.lang.*;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionListener;
+import java.util.function.IntSupplier;
+import java.util.function.ToIntFunction;
+
+// Shows a filter option with its live record count, e.g. "Engineering (12)".
+// Counts are looked up from the repository's facet counters each time an option
+// is painted, so repainting the combo box is all it takes to bring them up to date.
+class FacetComboRenderer extends DefaultListCellRenderer {
+    static final String ALL = "All";
+
+    private final ToIntFunction<String> countOf;
+    private final IntSupplier total;
+
+    // countOf gives the count of one value; total is shown next to "All"
+    FacetComboRenderer(ToIntFunction<String> countOf, IntSupplier total) {
+        this.countOf = countOf;
+        this.total = total;
+    }
+
+    @Override
+    public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                  boolean selected, boolean focused) {
+        String text = value == null ? "" : value.toString();
+        if (value != null) {
+            int count = ALL.equals(text) ? total.getAsInt() : countOf.applyAsInt(text);
+            text = text + " (" + count + ")";
+        }
+        return super.getListCellRendererComponent(list, text, index, selected, focused);
+    }
+
+    // Make the combo box list exactly "All" followed by the values, keeping the selection
+    // and firing no action events. False if the selected value is gone and "All" took its place
+    static boolean syncItems(JComboBox<String> combo, Iterable<String> values) {
+        ActionListener[] listeners = combo.getActionListeners();
+        for (ActionListener listener : listeners) {
+            combo.removeActionListener(listener);
+        }
+        Object selected = combo.getSelectedItem();
+        combo.removeAllItems();
+        combo.addItem(ALL);
+        boolean found = false;
+        for (String value : values) {
+            combo.addItem(value);
+            found |= value.equals(selected);
+        }
+        combo.setSelectedItem(found ? selected : ALL);
+        for (ActionListener listener : listeners) {
+            combo.addActionListener(listener);
+        }
+        return found || ALL.equals(selected);
+    }
+}
@@ -0,0 +1,78 @@
+package GUI.panels;
+
+import java.lang.*;
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.JTextComponent;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+// Search-as-you-type for a text field.
+// Every edit restarts a short debounce timer; when it fires, the query runs on a
+// background thread and its result is handed back on the event dispatch thread.
+// Each query gets a generation number, and a result is only published while its
+// query is still the newest, so stale queries are skipped or dropped.
+class LiveSearch<R> {
+    private static final int DEBOUNCE_MILLIS = 200;
+
+    // Shared by every panel; queries are short, so one thread keeps them in order
+    private static final ExecutorService SEARCHER = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "LiveSearch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final JTextComponent field;
+    private final Function<String, R> search;
+    private final BiConsumer<String, R> publish;
+    private final Timer debounce;
+    private final AtomicLong generation = new AtomicLong();
+    private Future<?> running;
+
+    // search runs in the background; publish runs on the EDT with the query and its result
+    LiveSearch(JTextComponent field, Function<String, R> search, BiConsumer<String, R> publish) {
+        this.field = field;
+        this.search = search;
+        this.publish = publish;
+        this.debounce = new Timer(DEBOUNCE_MILLIS, e -> runNow());
+        debounce.setRepeats(false);
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) { debounce.restart(); }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) { debounce.restart(); }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) { }
+        });
+    }
+
+    // Search for the field's current text without waiting, e.g. on Enter
+    void runNow() {
+        debounce.stop();
+        String query = field.getText().trim();
+        long current = generation.incrementAndGet();
+        if (running != null) {
+            running.cancel(true);
+        }
+        running = SEARCHER.submit(() -> {
+            if (generation.get() != current) {
+                return;
+            }
+            try {
+                R result = search.apply(query);
+                SwingUtilities.invokeLater(() -> {
+                    if (generation.get() == current) {
+                        publish.accept(query, result);
+                    }
+                });
+            } catch (RuntimeException e) {
+                System.err.println("Error searching for '" + query + "': " + e.getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,116 @@
+package GUI.panels;
+
+import java.lang.*;
+import GUI.Entity.Person;
+import GUI.Entity.QuickFind;
+import GUI.Entity.Student;
+import GUI.Entity.StudentRepository;
+import GUI.Entity.TeacherRepository;
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+import java.awt.event.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Quick-find over students and teachers at once.
+// Results update as the user types (through LiveSearch); Enter or a double-click
+// opens the chosen person in their roster panel.
+public class QuickFindDialog extends JDialog {
+    private static final int MAX_RESULTS = 20;
+
+    private final QuickFind quickFind = new QuickFind(Arrays.asList(
+            StudentRepository.getInstance(), TeacherRepository.getInstance()));
+    private final JTextField queryField = new JTextField(30);
+    private final DefaultListModel<QuickFind.Hit> results = new DefaultListModel<>();
+    private final JList<QuickFind.Hit> resultList = new JList<>(results);
+    private final JLabel statusLabel = new JLabel(" ");
+    private final Consumer<Person> open;
+
+    // open is called with the chosen person after the dialog closes
+    public QuickFindDialog(Frame owner, Consumer<Person> open) {
+        super(owner, "Quick Find", true);
+        this.open = open;
+        setLayout(new BorderLayout(0, 8));
+        ((JComponent) getContentPane()).setBorder(new EmptyBorder(12, 12, 12, 12));
+
+        JLabel hint = new JLabel("Search students and teachers by ID, email, name or address:");
+        hint.setFont(new Font("Arial", Font.BOLD, 12));
+        JPanel top = new JPanel(new BorderLayout(0, 6));
+        top.add(hint, BorderLayout.NORTH);
+        top.add(queryField, BorderLayout.CENTER);
+        add(top, BorderLayout.NORTH);
+
+        resultList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        resultList.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean selected, boolean focused) {
+                QuickFind.Hit hit = (QuickFind.Hit) value;
+                Person person = hit.getPerson();
+                String role = person instanceof Student ? "Student" : "Teacher";
+                String text = String.format("%s  -  %s  (%s, %s)  [%s]", person.getId(), person.getName(),
+                        role, person.getDepartment(), hit.getField());
+                return super.getListCellRendererComponent(list, text, index, selected, focused);
+            }
+        });
+        resultList.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    openSelected();
+                }
+            }
+        });
+        add(new JScrollPane(resultList), BorderLayout.CENTER);
+        add(statusLabel, BorderLayout.SOUTH);
+
+        new LiveSearch<List<QuickFind.Hit>>(queryField,
+                query -> quickFind.find(query, MAX_RESULTS), this::showResults);
+
+        // Enter opens the selection, Up/Down move it without leaving the query field
+        queryField.addActionListener(e -> openSelected());
+        queryField.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                int index = resultList.getSelectedIndex();
+                if (e.getKeyCode() == KeyEvent.VK_DOWN && index + 1 < results.size()) {
+                    resultList.setSelectedIndex(index + 1);
+                    resultList.ensureIndexIsVisible(index + 1);
+                    e.consume();
+                } else if (e.getKeyCode() == KeyEvent.VK_UP && index > 0) {
+                    resultList.setSelectedIndex(index - 1);
+                    resultList.ensureIndexIsVisible(index - 1);
+                    e.consume();
+                }
+            }
+        });
+        getRootPane().registerKeyboardAction(e -> dispose(),
+                KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0), JComponent.WHEN_IN_FOCUSED_WINDOW);
+
+        setSize(640, 420);
+        setLocationRelativeTo(owner);
+    }
+
+    private void showResults(String query, List<QuickFind.Hit> hits) {
+        results.clear();
+        for (QuickFind.Hit hit : hits) {
+            results.addElement(hit);
+        }
+        if (!hits.isEmpty()) {
+            resultList.setSelectedIndex(0);
+        }
+        statusLabel.setText(query.isEmpty() ? " "
+                : hits.isEmpty() ? "No matches" : "Top " + hits.size() + " matches");
+    }
+
+    private void openSelected() {
+        QuickFind.Hit hit = resultList.getSelectedValue();
+        if (hit == null) {
+            return;
+        }
+        dispose();
+        open.accept(hit.getPerson());
+    }
+}
@@ -2,12 +2,16 @@ package GUI.panels;
 
 import java.lang.*;
 import GUI.Entity.Student;
+import GUI.Entity.StudentRepository;
 import GUI.Entity.Teacher;
+import GUI.Entity.TeacherRepository;
+import GUI.Entity.ThumbnailCache;
 import javax.swing.*;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.image.BufferedImage;
 import java.io.File;
 
 public class RegistrationPanel extends JPanel {
@@ -410,15 +414,14 @@ public class RegistrationPanel extends JPanel {
             selectedPhotoPath = selectedFile.getAbsolutePath();
             photoLabel.setText(""); // Clear text
 
-            try {
-                ImageIcon imageIcon = new ImageIcon(selectedPhotoPath);
-                Image img = imageIcon.getImage();
-                // Always scale to exactly 80x100, do not let the label grow
-                Image scaledImg = img.getScaledInstance(80, 100, Image.SCALE_SMOOTH);
-                photoLabel.setIcon(new ImageIcon(scaledImg));
+            // Always scale to exactly 80x100, do not let the label grow; the shared cache
+            // means picking the same photo again is not another decode
+            BufferedImage thumbnail = ThumbnailCache.shared().load(selectedPhotoPath, 80, 100);
+            if (thumbnail != null) {
+                photoLabel.setIcon(new ImageIcon(thumbnail));
                 photoLabel.setHorizontalAlignment(SwingConstants.CENTER);
                 photoLabel.setVerticalAlignment(SwingConstants.CENTER);
-            } catch (Exception e) {
+            } else {
                 photoLabel.setText("Photo: " + selectedFile.getName());
                 photoLabel.setIcon(null);
             }
@@ -434,15 +437,14 @@ public class RegistrationPanel extends JPanel {
             teacherPhotoPath = selectedFile.getAbsolutePath();
             photoLabel.setText(""); // Clear text
 
-            try {
-                ImageIcon imageIcon = new ImageIcon(teacherPhotoPath);
-                Image img = imageIcon.getImage();
-                // Always scale to exactly 80x100, do not let the label grow
-                Image scaledImg = img.getScaledInstance(80, 100, Image.SCALE_SMOOTH);
-                photoLabel.setIcon(new ImageIcon(scaledImg));
+            // Always scale to exactly 80x100, do not let the label grow; the shared cache
+            // means picking the same photo again is not another decode
+            BufferedImage thumbnail = ThumbnailCache.shared().load(teacherPhotoPath, 80, 100);
+            if (thumbnail != null) {
+                photoLabel.setIcon(new ImageIcon(thumbnail));
                 photoLabel.setHorizontalAlignment(SwingConstants.CENTER);
                 photoLabel.setVerticalAlignment(SwingConstants.CENTER);
-            } catch (Exception e) {
+            } else {
                 photoLabel.setText("Photo: " + selectedFile.getName());
                 photoLabel.setIcon(null);
             }
@@ -455,6 +457,12 @@ public class RegistrationPanel extends JPanel {
         return email.matches(emailRegex);
     }
 
+    // O(1) lookups in the email indexes of both rosters
+    private boolean isEmailRegistered(String email) {
+        return StudentRepository.getInstance().isEmailTaken(email)
+                || TeacherRepository.getInstance().isEmailTaken(email);
+    }
+
     private boolean isValidAge(String age) {
         try {
             int ageValue = Integer.parseInt(age);
@@ -498,6 +506,8 @@ public class RegistrationPanel extends JPanel {
         String email = studentEmailField.getText().trim();
         if (!isValidEmail(email)) {
             errors.append("• Please enter a valid email address\n");
+        } else if (isEmailRegistered(email)) {
+            errors.append("• This email address is already registered\n");
         }
 
         // Validate gender selection
@@ -540,6 +550,8 @@ public class RegistrationPanel extends JPanel {
         String email = teacherEmailField.getText().trim();
         if (!isValidEmail(email)) {
             errors.append("• Please enter a valid email address\n");
+        } else if (isEmailRegistered(email)) {
+            errors.append("• This email address is already registered\n");
         }
 
         // Validate gender selection
@@ -578,9 +590,9 @@ public class RegistrationPanel extends JPanel {
             String address = studentAddressArea.getText().trim();
             String photoPath = selectedPhotoPath;
 
-            // Create student entity and save to CSV
+            // Create student entity and save it through the shared roster
             Student student = new Student(name, age, email, department, gender, address, photoPath);
-            student.saveToCSV();
+            StudentRepository.getInstance().add(student);
 
             // Display success message with registration details
             String message = String.format(
@@ -630,9 +642,9 @@ public class RegistrationPanel extends JPanel {
             String address = teacherAddressArea.getText().trim();
             String photoPath = teacherPhotoPath;
 
-            // Create teacher entity and save to CSV
+            // Create teacher entity and save it through the shared roster
             Teacher teacher = new Teacher(name, age, email, department, subject, designation, gender, address, photoPath);
-            teacher.saveToCSV();
+            TeacherRepository.getInstance().add(teacher);
 
             // Display success message with registration details
             String message = String.format(
@@ -0,0 +1,310 @@
+package GUI.panels;
+
+import java.lang.*;
+import GUI.Entity.Person;
+import GUI.Entity.Teacher;
+import javax.swing.*;
+import javax.swing.border.Border;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Roster card for a student or teacher: photo on the left, details on the right and,
+// when a delete action is given, a Delete button at the bottom right.
+// The card is a single component that paints everything itself from the shared fonts,
+// colors and borders below; there are no child labels, no HTML label for the address
+// and no button. VirtualGrid hit-tests the mouse for it (see VirtualGrid.Interactive),
+// so a card has no listeners of its own either. Cards are built once and re-bound to
+// whichever record scrolls into their slot, so everything a record changes is set in
+// bind(). Photos arrive from the ThumbnailLoader; until then a placeholder is painted.
+class RosterCard extends JComponent implements VirtualGrid.Interactive {
+    static final int PHOTO_WIDTH = 80;
+    static final int PHOTO_HEIGHT = 100;
+    private static final int PADDING = 9;         // line border and padding, as the old compound border
+    private static final int PHOTO_GAP = 10;
+    private static final int ADDRESS_WIDTH = 220;
+    private static final int ADDRESS_LINES = 2;
+    private static final int BUTTON_WIDTH = 80;
+    private static final int BUTTON_HEIGHT = 28;
+
+    private static final Font NAME_FONT = new Font("Arial", Font.BOLD, 14);
+    private static final Font DETAIL_FONT = new Font("Arial", Font.PLAIN, 12);
+    private static final Font SMALL_FONT = new Font("Arial", Font.PLAIN, 11);
+    private static final Font BUTTON_FONT = new Font("Arial", Font.BOLD, 12);
+    private static final Font PLACEHOLDER_FONT = new Font("Arial", Font.PLAIN, 28);
+    private static final Color ACCENT = new Color(70, 130, 180);
+    private static final Color HOVER_BACKGROUND = new Color(240, 248, 255);
+    private static final Color ADDRESS_COLOR = new Color(60, 60, 60);
+    private static final Color REGISTERED_COLOR = new Color(120, 120, 120);
+    private static final Color DELETE_COLOR = new Color(192, 57, 43);
+    private static final Color DELETE_HOVER_COLOR = new Color(160, 40, 30);
+    private static final Border NORMAL_BORDER = BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(new Color(200, 200, 200), 1), new EmptyBorder(8, 8, 8, 8));
+    private static final Border HOVER_BORDER = BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(ACCENT, 2), new EmptyBorder(7, 7, 7, 7));
+    private static final Map<?, ?> DESKTOP_HINTS =
+            (Map<?, ?>) Toolkit.getDefaultToolkit().getDesktopProperty("awt.font.desktophints");
+
+    private final Consumer<Person> onDelete;
+    private Person person;
+    private String photoPath;
+    private BufferedImage photo;
+    private ThumbnailLoader.Request photoRequest;
+    private boolean hovered;
+    private boolean deleteHovered;
+
+    // Text of the bound record, worked out once in bind() rather than on every paint
+    private String idText;
+    private String departmentText;
+    private String subjectText;       // null for students
+    private String designationText;
+    private String ageGenderText;
+    private String emailText;
+    private String addressText;
+    private String registeredText;
+    private List<String> addressLines; // wrapped on first paint
+
+    // onDelete is called with the bound record when Delete is clicked; null for no button
+    RosterCard(Consumer<Person> onDelete) {
+        this.onDelete = onDelete;
+        setOpaque(true);
+    }
+
+    void bind(Person person) {
+        this.person = person;
+        hovered = false; // the card may have moved out from under the mouse
+        deleteHovered = false;
+        idText = "ID: " + person.getId();
+        departmentText = "Dept: " + person.getDepartment();
+        if (person instanceof Teacher) {
+            subjectText = "Subject: " + ((Teacher) person).getSubject();
+            designationText = "Designation: " + ((Teacher) person).getDesignation();
+        } else {
+            subjectText = null;
+            designationText = null;
+        }
+        ageGenderText = "Age: " + person.getAge() + " | " + person.getGender();
+        emailText = "Email: " + person.getEmail();
+        addressText = "Address: " + person.getAddress();
+        registeredText = "Registered: " + person.getRegistrationDate();
+        addressLines = null;
+        if (photoPath == null || !photoPath.equals(person.getPhotoPath())) {
+            photoPath = person.getPhotoPath();
+            loadPhoto(photoPath);
+        }
+        repaint();
+    }
+
+    // The card is off screen: a photo it is still waiting for is no longer wanted
+    void unbind() {
+        if (photoRequest != null) {
+            photoRequest.cancel();
+            photoRequest = null;
+            photoPath = null; // never arrived, so load it again on the next bind
+        }
+    }
+
+    private void loadPhoto(String photoPath) {
+        if (photoRequest != null) {
+            photoRequest.cancel();
+        }
+        photoRequest = null;
+        photo = null;
+        // Twice the pixels on a HiDPI screen, drawn into the same 80x100 box
+        int scale = pixelScale();
+        photoRequest = ThumbnailLoader.load(photoPath, PHOTO_WIDTH * scale, PHOTO_HEIGHT * scale, thumbnail -> {
+            photoRequest = null;
+            photo = thumbnail;
+            repaint(PADDING, 0, PHOTO_WIDTH, getHeight());
+        });
+    }
+
+    private int pixelScale() {
+        GraphicsConfiguration configuration = getGraphicsConfiguration();
+        if (configuration == null) {
+            return 1;
+        }
+        AffineTransform transform = configuration.getDefaultTransform();
+        return transform.getScaleX() > 1 ? 2 : 1;
+    }
+
+    @Override
+    public void mouseMovedTo(Point point) {
+        boolean overDelete = point != null && isOverDelete(point);
+        if (hovered != (point != null) || deleteHovered != overDelete) {
+            hovered = point != null;
+            deleteHovered = overDelete;
+            repaint();
+        }
+    }
+
+    @Override
+    public void clicked(Point point) {
+        if (isOverDelete(point)) {
+            onDelete.accept(person);
+        }
+    }
+
+    @Override
+    public Cursor cursorAt(Point point) {
+        return isOverDelete(point) ? Cursor.getPredefinedCursor(Cursor.HAND_CURSOR) : null;
+    }
+
+    private boolean isOverDelete(Point point) {
+        return onDelete != null && deleteBounds().contains(point);
+    }
+
+    private Rectangle deleteBounds() {
+        return new Rectangle(getWidth() - PADDING - BUTTON_WIDTH, getHeight() - PADDING - BUTTON_HEIGHT,
+                BUTTON_WIDTH, BUTTON_HEIGHT);
+    }
+
+    @Override
+    public void setBounds(int x, int y, int width, int height) {
+        if (width != getWidth()) {
+            addressLines = null; // wrapped for the old width
+        }
+        super.setBounds(x, y, width, height);
+    }
+
+    @Override
+    protected void paintComponent(Graphics graphics) {
+        if (person == null) {
+            return;
+        }
+        Graphics2D g = (Graphics2D) graphics.create();
+        try {
+            if (DESKTOP_HINTS != null) {
+                g.addRenderingHints(DESKTOP_HINTS);
+            } else {
+                g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            }
+            g.setColor(hovered ? HOVER_BACKGROUND : Color.WHITE);
+            g.fillRect(0, 0, getWidth(), getHeight());
+
+            // Photo and details share the space above the Delete button
+            int bottom = getHeight() - PADDING - (onDelete != null ? BUTTON_HEIGHT : 0);
+            paintPhoto(g, PADDING, PADDING + Math.max(0, (bottom - PADDING - PHOTO_HEIGHT) / 2));
+            paintDetails(g, PADDING + PHOTO_WIDTH + PHOTO_GAP, PADDING, bottom);
+            if (onDelete != null) {
+                paintDeleteButton(g);
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    @Override
+    protected void paintBorder(Graphics g) {
+        (hovered ? HOVER_BORDER : NORMAL_BORDER).paintBorder(this, g, 0, 0, getWidth(), getHeight());
+    }
+
+    private void paintPhoto(Graphics2D g, int x, int y) {
+        if (photo != null) {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(photo, x, y, PHOTO_WIDTH, PHOTO_HEIGHT, null);
+            return;
+        }
+        g.setColor(HOVER_BACKGROUND);
+        g.fillRect(x, y, PHOTO_WIDTH, PHOTO_HEIGHT);
+        g.setFont(PLACEHOLDER_FONT);
+        g.setColor(ACCENT);
+        FontMetrics metrics = g.getFontMetrics();
+        String glyph = "👤";
+        g.drawString(glyph, x + (PHOTO_WIDTH - metrics.stringWidth(glyph)) / 2,
+                y + (PHOTO_HEIGHT - metrics.getHeight()) / 2 + metrics.getAscent());
+    }
+
+    private void paintDetails(Graphics2D g, int x, int y, int bottom) {
+        y = line(g, person.getName(), NAME_FONT, ACCENT, x, y);
+        y = line(g, idText, SMALL_FONT, Color.GRAY, x, y);
+        y = line(g, departmentText, DETAIL_FONT, Color.BLACK, x, y);
+        if (subjectText != null) {
+            y = line(g, subjectText, DETAIL_FONT, Color.BLACK, x, y);
+            y = line(g, designationText, DETAIL_FONT, Color.BLACK, x, y);
+        }
+        y = line(g, ageGenderText, DETAIL_FONT, Color.BLACK, x, y);
+        y = line(g, emailText, DETAIL_FONT, Color.BLACK, x, y);
+        if (addressLines == null) {
+            addressLines = wrap(addressText, g.getFontMetrics(DETAIL_FONT),
+                    Math.min(ADDRESS_WIDTH, getWidth() - x - PADDING));
+        }
+        for (String addressLine : addressLines) {
+            y = line(g, addressLine, DETAIL_FONT, ADDRESS_COLOR, x, y);
+        }
+        if (y + g.getFontMetrics(SMALL_FONT).getHeight() <= bottom) {
+            line(g, registeredText, SMALL_FONT, REGISTERED_COLOR, x, y);
+        }
+    }
+
+    // Draw one line of text with its top at y; returns the top of the next line
+    private static int line(Graphics2D g, String text, Font font, Color color, int x, int y) {
+        g.setFont(font);
+        g.setColor(color);
+        FontMetrics metrics = g.getFontMetrics();
+        g.drawString(text == null ? "" : text, x, y + metrics.getAscent());
+        return y + metrics.getHeight();
+    }
+
+    // Break the text into at most ADDRESS_LINES lines at spaces, ending in "..." if cut short
+    private static List<String> wrap(String text, FontMetrics metrics, int width) {
+        List<String> lines = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        String[] words = text.split(" ");
+        for (int i = 0; i < words.length; i++) {
+            String candidate = current.length() == 0 ? words[i] : current + " " + words[i];
+            if (current.length() > 0 && metrics.stringWidth(candidate) > width) {
+                if (lines.size() == ADDRESS_LINES - 1) {
+                    lines.add(ellipsize(current + " " + join(words, i), metrics, width));
+                    return lines;
+                }
+                lines.add(current.toString());
+                current.setLength(0);
+                current.append(words[i]);
+            } else {
+                current.setLength(0);
+                current.append(candidate);
+            }
+        }
+        if (current.length() > 0) {
+            lines.add(ellipsize(current.toString(), metrics, width));
+        }
+        return lines;
+    }
+
+    private static String join(String[] words, int from) {
+        StringBuilder rest = new StringBuilder(words[from]);
+        for (int i = from + 1; i < words.length; i++) {
+            rest.append(' ').append(words[i]);
+        }
+        return rest.toString();
+    }
+
+    private static String ellipsize(String text, FontMetrics metrics, int width) {
+        if (metrics.stringWidth(text) <= width) {
+            return text;
+        }
+        int end = text.length();
+        while (end > 0 && metrics.stringWidth(text.substring(0, end) + "...") > width) {
+            end--;
+        }
+        return text.substring(0, end) + "...";
+    }
+
+    private void paintDeleteButton(Graphics2D g) {
+        Rectangle bounds = deleteBounds();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setColor(deleteHovered ? DELETE_HOVER_COLOR : DELETE_COLOR);
+        g.fillRoundRect(bounds.x, bounds.y, bounds.width, bounds.height, 6, 6);
+        g.setFont(BUTTON_FONT);
+        g.setColor(Color.WHITE);
+        FontMetrics metrics = g.getFontMetrics();
+        g.drawString("Delete", bounds.x + (bounds.width - metrics.stringWidth("Delete")) / 2,
+                bounds.y + (bounds.height - metrics.getHeight()) / 2 + metrics.getAscent());
+    }
+}
@@ -1,57 +1,137 @@
 package GUI.panels;
 
 import java.lang.*;
+import GUI.Entity.Page;
+import GUI.Entity.Person;
+import GUI.Entity.QueryResult;
+import GUI.Entity.RepositoryListener;
+import GUI.Entity.RosterQuery;
+import GUI.Entity.RosterOrder;
+import GUI.Entity.SortedIndex;
+import GUI.Entity.Student;
+import GUI.Entity.StudentRepository;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.*;
-import java.io.*;
 import java.util.*;
 import java.util.List;
+import java.util.function.Predicate;
 
 public class StudentPanel extends JPanel {
     private Map<String, List<Student>> departmentStudents = new HashMap<>();
     private JComboBox<String> departmentFilter;
+    private JComboBox<String> genderFilter;
+    private JComboBox<String> sortFilter;
     private JTextField searchField;
-    private JPanel contentPanel;
+    private LiveSearch<SearchResults> liveSearch;
+    private JLabel queryStatus;
+    private VirtualGrid<Student> rosterGrid;
     private JScrollPane scrollPane;
-    private String csvFilePath = "src/userdata/students.csv";
-    private static final int PHOTO_WIDTH = 80;
-    private static final int PHOTO_HEIGHT = 100;
+    private final StudentRepository repository = StudentRepository.getInstance();
+    private boolean refreshPending;
+    private String pendingDepartment;
+    private static final int CARD_HEIGHT = 180;
+    private static final int PAGE_SIZE = 50;
+    private static final String GROUPED = "Department";
+
+    // Sorted view state: how many are shown, the cursor for the next page and its button
+    private int sortedShown;
+    private SortedIndex.Cursor nextPage;
+    private JButton nextPageButton;
 
     public StudentPanel() {
         setLayout(new BorderLayout());
         initializeComponents();
-        loadStudentsFromCSV();
+        loadStudents();
         setupLayout();
-        departmentFilter.addActionListener(e -> filterByDepartment());
+        departmentFilter.addActionListener(e -> applyFilters());
+        genderFilter.addActionListener(e -> applyFilters());
+        sortFilter.addActionListener(e -> applyFilters());
         displayStudents("All");
+
+        // Apply registrations and deletions as they happen instead of reloading
+        repository.addListener(new RepositoryListener<Student>() {
+            @Override
+            public void recordAdded(Student student) {
+                SwingUtilities.invokeLater(() -> studentAdded(student));
+            }
+
+            @Override
+            public void recordRemoved(Student student) {
+                SwingUtilities.invokeLater(() -> studentRemoved(student));
+            }
+
+            @Override
+            public void recordUpdated(Student previous, Student current) {
+                SwingUtilities.invokeLater(() -> studentUpdated(previous, current));
+            }
+        });
     }
 
     private void initializeComponents() {
         departmentFilter = new JComboBox<>();
         departmentFilter.addItem("All");
+        // Every option shows its live count from the repository's facet counters
+        departmentFilter.setRenderer(new FacetComboRenderer(
+                department -> repository.getFacetCount(Person.FACET_DEPARTMENT, department), this::totalStudents));
+        genderFilter = new JComboBox<>();
+        genderFilter.addItem("All");
+        genderFilter.setRenderer(new FacetComboRenderer(
+                gender -> repository.getFacetCount(Person.FACET_GENDER, gender), this::totalStudents));
+
+        // Grouped by department as before, or one list in a maintained sort order
+        sortFilter = new JComboBox<>();
+        sortFilter.addItem(GROUPED);
+        for (RosterOrder order : RosterOrder.values()) {
+            sortFilter.addItem(order.toString());
+        }
 
         searchField = new JTextField(20);
+        searchField.setToolTipText("<html>Keywords, or filters such as<br>"
+                + "dept:Engineering gender:Female age:20..25 registered:>2025-06-01<br>"
+                + "Combine with OR, negate with -, group with ( )</html>");
+        queryStatus = new JLabel(" ", SwingConstants.CENTER);
+        queryStatus.setForeground(Color.WHITE);
+        queryStatus.setFont(new Font("Arial", Font.PLAIN, 11));
         searchField.addActionListener(e -> searchStudents());
+        liveSearch = new LiveSearch<>(searchField, this::findStudents, this::showSearchResults);
+        new AutocompletePopup<Student>(searchField,
+                text -> repository.complete(text, AutocompletePopup.MAX_SUGGESTIONS),
+                student -> student.getName() + "  <" + student.getEmail() + ">  " + student.getId(),
+                Student::getName);
+
+        // Only the cards in view exist; they are re-bound to other students as the view scrolls
+        rosterGrid = new VirtualGrid<>(new VirtualGrid.CardRenderer<Student>() {
+            @Override
+            public JComponent createCard() {
+                return new RosterCard(student -> confirmDelete((Student) student));
+            }
+
+            @Override
+            public void bindCard(JComponent card, Student student) {
+                ((RosterCard) card).bind(student);
+            }
 
-        contentPanel = new JPanel();
-        contentPanel.setLayout(new BoxLayout(contentPanel, BoxLayout.Y_AXIS));
-        contentPanel.setBackground(new Color(245, 245, 245));
+            @Override
+            public void unbindCard(JComponent card) {
+                ((RosterCard) card).unbind();
+            }
+        }, CARD_HEIGHT);
     }
 
     private void setupLayout() {
         JPanel headerPanel = createHeaderPanel();
         add(headerPanel, BorderLayout.NORTH);
 
-        scrollPane = new JScrollPane(contentPanel);
+        scrollPane = new JScrollPane(rosterGrid);
         scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
         scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
         scrollPane.getVerticalScrollBar().setUnitIncrement(16);
         scrollPane.setPreferredSize(new Dimension(700, 500));
 
         // Mouse wheel scrolling (optional: for extra smoothness)
-        contentPanel.addMouseWheelListener(e -> {
+        rosterGrid.addMouseWheelListener(e -> {
             JScrollBar bar = scrollPane.getVerticalScrollBar();
             int amount = e.getUnitsToScroll() * bar.getUnitIncrement();
             bar.setValue(bar.getValue() + amount);
@@ -79,6 +159,18 @@ public class StudentPanel extends JPanel {
         filterPanel.add(deptLabel);
         filterPanel.add(departmentFilter);
 
+        JLabel genderLabel = new JLabel("Gender:");
+        genderLabel.setForeground(Color.WHITE);
+        genderLabel.setFont(new Font("Arial", Font.BOLD, 12));
+        filterPanel.add(genderLabel);
+        filterPanel.add(genderFilter);
+
+        JLabel sortLabel = new JLabel("Sort:");
+        sortLabel.setForeground(Color.WHITE);
+        sortLabel.setFont(new Font("Arial", Font.BOLD, 12));
+        filterPanel.add(sortLabel);
+        filterPanel.add(sortFilter);
+
         JLabel searchLabel = new JLabel("Search:");
         searchLabel.setForeground(Color.WHITE);
         searchLabel.setFont(new Font("Arial", Font.BOLD, 12));
@@ -94,31 +186,12 @@ public class StudentPanel extends JPanel {
         filterPanel.add(refreshBtn);
 
         headerPanel.add(filterPanel, BorderLayout.CENTER);
+        headerPanel.add(queryStatus, BorderLayout.SOUTH);
 
         return headerPanel;
     }
 
-    // Robust CSV parser for quoted fields (handles commas in address)
-    private static List<String> parseCSVLine(String line) {
-        List<String> result = new ArrayList<>();
-        boolean inQuotes = false;
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            if (c == '\"') {
-                inQuotes = !inQuotes;
-            } else if (c == ',' && !inQuotes) {
-                result.add(sb.toString().replace("\"\"", "\""));
-                sb.setLength(0);
-            } else {
-                sb.append(c);
-            }
-        }
-        result.add(sb.toString().replace("\"\"", "\""));
-        return result;
-    }
-
-    private void loadStudentsFromCSV() {
+    private void loadStudents() {
         departmentStudents.clear();
 
         ActionListener[] listeners = departmentFilter.getActionListeners();
@@ -129,374 +202,302 @@ public class StudentPanel extends JPanel {
         departmentFilter.removeAllItems();
         departmentFilter.addItem("All");
 
-        File csvFile = new File(csvFilePath);
-        if (!csvFile.exists()) {
-            JOptionPane.showMessageDialog(this, "No student data found. Please register students first.");
-            for (ActionListener listener : listeners) {
-                departmentFilter.addActionListener(listener);
+        // Served from the repository's department index; nothing is read from disk here
+        for (String department : repository.getDepartments()) {
+            departmentStudents.put(department, repository.getByDepartment(department));
+            if (!department.isEmpty()) {
+                departmentFilter.addItem(department);
             }
-            return;
         }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(csvFile))) {
-            String line;
-            boolean isFirstLine = true;
+        for (ActionListener listener : listeners) {
+            departmentFilter.addActionListener(listener);
+        }
+        syncFacetFilters();
+    }
+
+    // Bring the gender options in line with the facet counts and repaint the filters
+    // so they show current counts; false if a selected option is gone
+    private boolean syncFacetFilters() {
+        boolean kept = FacetComboRenderer.syncItems(genderFilter,
+                repository.getFacetCounts(Person.FACET_GENDER).keySet());
+        departmentFilter.repaint();
+        genderFilter.repaint();
+        return kept;
+    }
 
-            while ((line = br.readLine()) != null) {
-                if (isFirstLine) {
-                    isFirstLine = false;
-                    continue; // Skip header
-                }
+    private int totalStudents() {
+        int total = 0;
+        for (List<Student> students : departmentStudents.values()) {
+            total += students.size();
+        }
+        return total;
+    }
 
-                List<String> data = parseCSVLine(line);
-                if (data.size() >= 9) {
-                    String id = data.get(0).trim();
-                    String name = data.get(1).trim();
-                    String age = data.get(2).trim();
-                    String email = data.get(3).trim();
-                    String department = data.get(4).trim();
-                    String gender = data.get(5).trim();
-                    String address = data.get(6).trim();
-                    String photoPath = data.get(7).trim().replace("\\", "/");
-                    String registrationDate = data.get(8).trim();
-
-                    Student student = new Student(
-                        id, name, age, email, department, gender, address, photoPath, registrationDate
-                    );
-
-                    departmentStudents.computeIfAbsent(department, k -> new ArrayList<>()).add(student);
-
-                    // Add department to filter if not present
-                    boolean deptExists = false;
-                    for (int i = 0; i < departmentFilter.getItemCount(); i++) {
-                        if (departmentFilter.getItemAt(i).equals(department)) {
-                            deptExists = true;
-                            break;
-                        }
-                    }
-                    if (!deptExists && !department.isEmpty()) {
-                        departmentFilter.addItem(department);
-                    }
-                }
+    // Keep the filter in alphabetical order, as loaded from the repository
+    private void addDepartmentToFilter(String department) {
+        int index = 1; // after "All"
+        while (index < departmentFilter.getItemCount()
+                && departmentFilter.getItemAt(index).compareTo(department) < 0) {
+            index++;
+        }
+        departmentFilter.insertItemAt(department, index);
+    }
+
+    private void studentAdded(Student student) {
+        String department = student.getDepartment();
+        if (!departmentStudents.containsKey(department) && !department.isEmpty()) {
+            addDepartmentToFilter(department);
+        }
+        departmentStudents.computeIfAbsent(department, k -> new ArrayList<>()).add(student);
+        scheduleRefresh(student.getDepartment());
+    }
+
+    private void studentRemoved(Student student) {
+        String department = student.getDepartment();
+        List<Student> students = departmentStudents.get(department);
+        if (students != null && students.remove(student) && students.isEmpty()) {
+            departmentStudents.remove(department);
+            departmentFilter.removeItem(department);
+        }
+        scheduleRefresh(department);
+    }
+
+    private void studentUpdated(Student previous, Student current) {
+        // An edit within the same department keeps the card where it was
+        List<Student> students = departmentStudents.get(previous.getDepartment());
+        int index = students != null ? students.indexOf(previous) : -1;
+        if (index >= 0 && previous.getDepartment().equals(current.getDepartment())) {
+            students.set(index, current);
+            scheduleRefresh(current.getDepartment());
+        } else {
+            studentRemoved(previous);
+            studentAdded(current);
+        }
+    }
+
+    // Coalesce a burst of changes (e.g. a batch enrolment) into a single re-render
+    private void scheduleRefresh(String changedDepartment) {
+        if (refreshPending) {
+            if (pendingDepartment != null && !pendingDepartment.equals(changedDepartment)) {
+                pendingDepartment = null;
             }
-        } catch (IOException e) {
-            JOptionPane.showMessageDialog(this, "Error loading student data: " + e.getMessage());
+            return;
         }
+        refreshPending = true;
+        pendingDepartment = changedDepartment;
+        SwingUtilities.invokeLater(() -> {
+            refreshPending = false;
+            // A filter option that lost its last record falls back to "All", so redraw everything
+            refreshView(syncFacetFilters() ? pendingDepartment : null);
+        });
+    }
 
-        for (ActionListener listener : listeners) {
-            departmentFilter.addActionListener(listener);
+    // Re-render the current view if the changed department (null for several) is part of it
+    private void refreshView(String changedDepartment) {
+        if (!searchField.getText().trim().isEmpty()) {
+            searchStudents();
+            return;
+        }
+        String selected = (String) departmentFilter.getSelectedItem();
+        if (selected == null || selected.equals("All") || changedDepartment == null
+                || selected.equals(changedDepartment)) {
+            displayStudents(selected);
         }
     }
 
     private void displayStudents(String selectedDepartment) {
         if (selectedDepartment == null) selectedDepartment = "All";
-        contentPanel.removeAll();
+        if (selectedSortOrder() != null && !departmentStudents.isEmpty()) {
+            // Re-show as many as were on screen, so a change doesn't lose the user's place
+            displaySortedStudents(selectedDepartment, Math.max(PAGE_SIZE, sortedShown));
+            return;
+        }
+        rosterGrid.clear();
 
         if (selectedDepartment.equals("All")) {
             List<String> sortedDepts = new ArrayList<>(departmentStudents.keySet());
             Collections.sort(sortedDepts);
             for (String dept : sortedDepts) {
-                addDepartmentSection(dept, departmentStudents.get(dept));
+                List<Student> students = matchingFacetFilters(departmentStudents.get(dept));
+                if (!students.isEmpty()) {
+                    addDepartmentSection(dept, students);
+                }
             }
         } else {
-            List<Student> students = departmentStudents.get(selectedDepartment);
-            if (students != null) {
+            List<Student> students = matchingFacetFilters(
+                    departmentStudents.getOrDefault(selectedDepartment, Collections.<Student>emptyList()));
+            if (!students.isEmpty()) {
                 addDepartmentSection(selectedDepartment, students);
             }
         }
 
-        contentPanel.revalidate();
-        contentPanel.repaint();
+        if (departmentStudents.isEmpty()) {
+            rosterGrid.setFooter(createMessageLabel("No student data found. Please register students first."));
+        }
     }
 
-    private void addDepartmentSection(String department, List<Student> students) {
-        JPanel deptHeaderPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
-        deptHeaderPanel.setBackground(new Color(245, 245, 245));
-        deptHeaderPanel.setBorder(new EmptyBorder(20, 20, 10, 20));
-
-        JLabel deptLabel = new JLabel(department + " (" + students.size() + " students)");
-        deptLabel.setFont(new Font("Arial", Font.BOLD, 18));
-        deptLabel.setForeground(new Color(70, 130, 180));
-        deptHeaderPanel.add(deptLabel);
-
-        contentPanel.add(deptHeaderPanel);
-
-        // Responsive grid: 2 columns for wide screens, 1 for narrow
-        int columns = Math.max(1, contentPanel.getWidth() / 400); // 400px per card
-        if (columns < 2) columns = 2; // Default to 2 columns
-
-        JPanel studentsGrid = new JPanel(new GridBagLayout());
-        studentsGrid.setBackground(new Color(245, 245, 245));
-        studentsGrid.setBorder(new EmptyBorder(0, 20, 20, 20));
-
-        GridBagConstraints gbc = new GridBagConstraints();
-        gbc.insets = new Insets(10, 10, 10, 10);
-        gbc.fill = GridBagConstraints.BOTH;
-        gbc.weightx = 1.0;
-        gbc.weighty = 0.0;
-
-        for (int i = 0; i < students.size(); i++) {
-            Student student = students.get(i);
-            gbc.gridx = i % columns;
-            gbc.gridy = i / columns;
-            studentsGrid.add(createStudentCard(student), gbc);
+    // The students of the list with the selected gender
+    private List<Student> matchingFacetFilters(List<Student> students) {
+        List<Student> matching = new ArrayList<>();
+        for (Student student : students) {
+            if (matchesFacetFilters(student)) {
+                matching.add(student);
+            }
         }
+        return matching;
+    }
 
-        contentPanel.add(studentsGrid);
+    private boolean matchesFacetFilters(Student student) {
+        String gender = (String) genderFilter.getSelectedItem();
+        return (gender == null || gender.equals("All") || gender.equals(student.getGender()));
     }
 
-    private JPanel createStudentCard(Student student) {
-        JPanel card = new JPanel(new BorderLayout(10, 0));
-        card.setBackground(Color.WHITE);
-        card.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(new Color(200, 200, 200), 1),
-                new EmptyBorder(8, 8, 8, 8)
-        ));
-
-        // Photo on the left
-        JLabel photoLabel = createPhotoLabel(student.getPhotoPath());
-        photoLabel.setPreferredSize(new Dimension(PHOTO_WIDTH, PHOTO_HEIGHT));
-        photoLabel.setMinimumSize(new Dimension(PHOTO_WIDTH, PHOTO_HEIGHT));
-        photoLabel.setMaximumSize(new Dimension(PHOTO_WIDTH, PHOTO_HEIGHT));
-        photoLabel.setHorizontalAlignment(SwingConstants.CENTER);
-        photoLabel.setVerticalAlignment(SwingConstants.CENTER);
-
-        // Details on the right
-        JPanel infoPanel = new JPanel();
-        infoPanel.setLayout(new BoxLayout(infoPanel, BoxLayout.Y_AXIS));
-        infoPanel.setOpaque(false);
-
-        JLabel nameLabel = new JLabel(student.getName());
-        nameLabel.setFont(new Font("Arial", Font.BOLD, 14));
-        nameLabel.setForeground(new Color(70, 130, 180));
-
-        JLabel idLabel = new JLabel("ID: " + student.getStudentId());
-        idLabel.setFont(new Font("Arial", Font.PLAIN, 11));
-        idLabel.setForeground(Color.GRAY);
-
-        JLabel deptLabel = new JLabel("Dept: " + student.getDepartment());
-        deptLabel.setFont(new Font("Arial", Font.PLAIN, 12));
-
-        JLabel ageGenderLabel = new JLabel("Age: " + student.getAge() + " | " + student.getGender());
-        ageGenderLabel.setFont(new Font("Arial", Font.PLAIN, 12));
-
-        JLabel emailLabel = new JLabel("Email: " + student.getEmail());
-        emailLabel.setFont(new Font("Arial", Font.PLAIN, 12));
-
-        // Address (multi-line, wraps, using HTML for auto-wrapping)
-        JLabel addressLabel = new JLabel("<html><body style='width:220px'>Address: " + student.getAddress() + "</body></html>");
-        addressLabel.setFont(new Font("Arial", Font.PLAIN, 12));
-        addressLabel.setForeground(new Color(60, 60, 60));
-
-        JLabel regLabel = new JLabel("Registered: " + student.getRegistrationDate());
-        regLabel.setFont(new Font("Arial", Font.PLAIN, 11));
-        regLabel.setForeground(new Color(120, 120, 120));
-
-        infoPanel.add(nameLabel);
-        infoPanel.add(idLabel);
-        infoPanel.add(deptLabel);
-        infoPanel.add(ageGenderLabel);
-        infoPanel.add(emailLabel);
-        infoPanel.add(addressLabel);
-        infoPanel.add(regLabel);
-
-        card.add(photoLabel, BorderLayout.WEST);
-        card.add(infoPanel, BorderLayout.CENTER);
-
-        // --- Add Delete Button at bottom right ---
-        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 0, 0));
-        buttonPanel.setOpaque(false);
-        JButton deleteButton = new JButton("Delete");
-        deleteButton.setForeground(Color.WHITE);
-        deleteButton.setBackground(new Color(192, 57, 43));
-        deleteButton.setFocusPainted(false);
-        deleteButton.setFont(new Font("Arial", Font.BOLD, 12));
-        deleteButton.setPreferredSize(new Dimension(80, 28));
-        deleteButton.addActionListener(e -> {
-            int confirm = JOptionPane.showConfirmDialog(
-                this,
-                "Are you sure you want to delete this student?\n" + student.getName(),
-                "Delete Confirmation",
-                JOptionPane.YES_NO_OPTION
-            );
-            if (confirm == JOptionPane.YES_OPTION) {
-                student.deleteFromCSV(student.getStudentId()); // Use the entity method
-                refreshData();
-            }
-        });
-        buttonPanel.add(deleteButton);
-        card.add(buttonPanel, BorderLayout.SOUTH);
-
-        // Hover effect
-        card.addMouseListener(new java.awt.event.MouseAdapter() {
-            public void mouseEntered(java.awt.event.MouseEvent evt) {
-                card.setBackground(new Color(240, 248, 255));
-                card.setBorder(BorderFactory.createCompoundBorder(
-                        BorderFactory.createLineBorder(new Color(70, 130, 180), 2),
-                        new EmptyBorder(7, 7, 7, 7)
-                ));
-            }
-            public void mouseExited(java.awt.event.MouseEvent evt) {
-                card.setBackground(Color.WHITE);
-                card.setBorder(BorderFactory.createCompoundBorder(
-                        BorderFactory.createLineBorder(new Color(200, 200, 200), 1),
-                        new EmptyBorder(8, 8, 8, 8)
-                ));
-            }
-        });
+    // The chosen sort order, or null for the view grouped by department
+    private RosterOrder selectedSortOrder() {
+        int index = sortFilter.getSelectedIndex();
+        return index <= 0 ? null : RosterOrder.values()[index - 1];
+    }
 
-        return card;
+    // The filtered roster as one grid in the chosen order, read a page at a time from the
+    // repository's sorted index; "Next {PAGE_SIZE}" continues from the last card's cursor
+    private void displaySortedStudents(String selectedDepartment, int count) {
+        rosterGrid.clear();
+        RosterOrder order = selectedSortOrder();
+        Predicate<Student> filter = student -> (selectedDepartment.equals("All")
+                || selectedDepartment.equals(student.getDepartment())) && matchesFacetFilters(student);
+        rosterGrid.addSection((selectedDepartment.equals("All") ? "All students" : selectedDepartment)
+                + " by " + order, Collections.<Student>emptyList());
+
+        nextPageButton = new JButton("Next " + PAGE_SIZE);
+        nextPageButton.addActionListener(e -> showNextPage(order, filter, PAGE_SIZE));
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        buttonPanel.setBackground(new Color(245, 245, 245));
+        buttonPanel.add(nextPageButton);
+        rosterGrid.setFooter(buttonPanel);
+
+        sortedShown = 0;
+        nextPage = null;
+        showNextPage(order, filter, count);
     }
 
-    private JLabel createPhotoLabel(String photoPath) {
-        JLabel photoLabel = new JLabel();
-        photoLabel.setHorizontalAlignment(SwingConstants.CENTER);
-        photoLabel.setVerticalAlignment(SwingConstants.CENTER);
-
-        try {
-            String normalizedPath = photoPath.replace("\"", "").replace("\\", "/").trim();
-            File photoFile = new File(normalizedPath);
-            if (!photoFile.isAbsolute()) {
-                String projectRoot = System.getProperty("user.dir");
-                photoFile = new File(projectRoot, normalizedPath);
-            }
-            if (photoFile.exists()) {
-                ImageIcon originalIcon = new ImageIcon(photoFile.getAbsolutePath());
-                Image img = originalIcon.getImage();
-                Image scaledImg = img.getScaledInstance(PHOTO_WIDTH, PHOTO_HEIGHT, Image.SCALE_SMOOTH);
-                photoLabel.setIcon(new ImageIcon(scaledImg));
-                photoLabel.setText("");
-            } else {
-                photoLabel.setText("👤");
-                photoLabel.setFont(new Font("Arial", Font.PLAIN, 28));
-                photoLabel.setForeground(new Color(70, 130, 180));
-                photoLabel.setOpaque(true);
-                photoLabel.setBackground(new Color(240, 248, 255));
-            }
-        } catch (Exception e) {
-            photoLabel.setText("👤");
-            photoLabel.setFont(new Font("Arial", Font.PLAIN, 28));
-            photoLabel.setForeground(new Color(70, 130, 180));
-            photoLabel.setOpaque(true);
-            photoLabel.setBackground(new Color(240, 248, 255));
+    private void showNextPage(RosterOrder order, Predicate<Student> filter, int count) {
+        Page<Student> page = repository.page(order, nextPage, count, filter);
+        rosterGrid.appendToLastSection(page.getRecords());
+        sortedShown += page.getRecords().size();
+        if (sortedShown == 0) {
+            rosterGrid.setFooter(createMessageLabel("No students match the selected filters."));
         }
+        nextPage = page.getNext();
+        nextPageButton.setVisible(page.hasNext());
+    }
 
-        return photoLabel;
+    private void addDepartmentSection(String department, List<Student> students) {
+        rosterGrid.addSection(department + " (" + students.size() + " students)", students);
     }
 
+    private JLabel createMessageLabel(String message) {
+        JLabel label = new JLabel(message);
+        label.setFont(new Font("Arial", Font.PLAIN, 14));
+        label.setBorder(new EmptyBorder(20, 20, 20, 20));
+        return label;
+    }
 
+    private void confirmDelete(Student student) {
+        int confirm = JOptionPane.showConfirmDialog(
+            this,
+            "Are you sure you want to delete this student?\n" + student.getName(),
+            "Delete Confirmation",
+            JOptionPane.YES_NO_OPTION
+        );
+        if (confirm == JOptionPane.YES_OPTION) {
+            repository.remove(student.getId()); // Card is dropped by the change listener
+        }
+    }
 
-    private void filterByDepartment() {
+    private void applyFilters() {
+        sortedShown = 0; // a new filter or order starts again from the first page
         String selected = (String) departmentFilter.getSelectedItem();
         if (selected == null) selected = "All";
         displayStudents(selected);
     }
 
+    // Search the field's text now; typing also searches once the user pauses
     private void searchStudents() {
-        String searchTerm = searchField.getText().trim().toLowerCase();
+        liveSearch.runNow();
+    }
+
+    // Runs on the search thread. Text using the query syntax (dept:, age:, ...) is planned
+    // against the repository's indexes; plain text gets substring matches from the trigram
+    // index, then names within a typo or two ("Farhaan" finds "Farhan"), closest first
+    private SearchResults findStudents(String searchTerm) {
+        if (searchTerm.isEmpty()) {
+            return new SearchResults(Collections.<Student>emptyList(), " ");
+        }
+        if (RosterQuery.isStructured(searchTerm)) {
+            try {
+                QueryResult<Student> result = repository.query(RosterQuery.parse(searchTerm));
+                return new SearchResults(result.getMatches(), result.describe());
+            } catch (IllegalArgumentException e) {
+                return new SearchResults(Collections.<Student>emptyList(), "Invalid query: " + e.getMessage());
+            }
+        }
+        Set<Student> found = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Student> ranked = new ArrayList<>(repository.search(searchTerm));
+        found.addAll(ranked);
+        for (Student student : repository.fuzzySearch(searchTerm)) {
+            if (found.add(student)) {
+                ranked.add(student);
+            }
+        }
+        return new SearchResults(ranked, String.format("%,d match%s (keyword and name indexes)",
+                ranked.size(), ranked.size() == 1 ? "" : "es"));
+    }
+
+    private void showSearchResults(String searchTerm, SearchResults results) {
+        queryStatus.setText(results.summary);
         if (searchTerm.isEmpty()) {
             displayStudents((String) departmentFilter.getSelectedItem());
             return;
         }
 
-        contentPanel.removeAll();
+        rosterGrid.clear();
 
         for (String dept : departmentStudents.keySet()) {
-            List<Student> filteredStudents = new ArrayList<>();
-            for (Student student : departmentStudents.get(dept)) {
-                if (
-                        student.getName().toLowerCase().contains(searchTerm) ||
-                        student.getStudentId().toLowerCase().contains(searchTerm) ||
-                        student.getEmail().toLowerCase().contains(searchTerm) ||
-                        student.getDepartment().toLowerCase().contains(searchTerm) ||
-                        student.getGender().toLowerCase().contains(searchTerm) ||
-                        student.getAddress().toLowerCase().contains(searchTerm)
-                ) {
-                    filteredStudents.add(student);
-                }
-            }
-            if (!filteredStudents.isEmpty()) {
+            List<Student> filteredStudents = results.byDepartment.get(dept);
+            if (filteredStudents != null) {
                 addDepartmentSection(dept, filteredStudents);
             }
         }
+    }
 
-        contentPanel.revalidate();
-        contentPanel.repaint();
+    // Show the students matching the text, e.g. a record picked in the quick-find dialog
+    public void searchFor(String text) {
+        searchField.setText(text);
+        searchStudents();
     }
 
     private void refreshData() {
-        loadStudentsFromCSV();
+        loadStudents();
         displayStudents("All");
         searchField.setText("");
         if (departmentFilter.getItemCount() > 0) {
             departmentFilter.setSelectedItem("All");
         }
+        genderFilter.setSelectedItem("All");
+        sortFilter.setSelectedItem(GROUPED);
     }
 
-    // Student class for your CSV structure
-    private static class Student {
-        private String studentId, name, age, email, department, gender, address, photoPath, registrationDate;
-
-        public Student(String studentId, String name, String age, String email,
-                       String department, String gender, String address, String photoPath, String registrationDate) {
-            this.studentId = studentId;
-            this.name = name;
-            this.age = age;
-            this.email = email;
-            this.department = department;
-            this.gender = gender;
-            this.address = address;
-            this.photoPath = photoPath;
-            this.registrationDate = registrationDate;
-        }
+    // Matches grouped by department, with a line saying how they were found
+    private static final class SearchResults {
+        private final Map<String, List<Student>> byDepartment = new HashMap<>();
+        private final String summary;
 
-        public String getStudentId() { return studentId; }
-        public String getName() { return name; }
-        public String getAge() { return age; }
-        public String getEmail() { return email; }
-        public String getDepartment() { return department; }
-        public String getGender() { return gender; }
-        public String getAddress() { return address; }
-        public String getPhotoPath() { return photoPath; }
-        public String getRegistrationDate() { return registrationDate; }
-
-        // Method to delete a student from the CSV file by studentId
-        public void deleteFromCSV(String studentId) {
-            String csvFilePath = "src/userdata/students.csv";
-            File inputFile = new File(csvFilePath);
-            File tempFile = new File(csvFilePath + ".tmp");
-
-            try (BufferedReader reader = new BufferedReader(new FileReader(inputFile));
-                 BufferedWriter writer = new BufferedWriter(new FileWriter(tempFile))) {
-
-                String currentLine;
-                boolean isFirstLine = true;
-
-                while ((currentLine = reader.readLine()) != null) {
-                    if (isFirstLine) {
-                        writer.write(currentLine);
-                        writer.newLine();
-                        isFirstLine = false;
-                        continue;
-                    }
-                    List<String> data = StudentPanel.parseCSVLine(currentLine);
-                    if (data.size() > 0 && !data.get(0).trim().equals(studentId)) {
-                        writer.write(currentLine);
-                        writer.newLine();
-                    }
-                }
-            } catch (IOException e) {
-                JOptionPane.showMessageDialog(null, "Error deleting student: " + e.getMessage());
-                return;
-            }
-
-            if (!inputFile.delete()) {
-                JOptionPane.showMessageDialog(null, "Could not delete original student file.");
-                return;
-            }
-            if (!tempFile.renameTo(inputFile)) {
-                JOptionPane.showMessageDialog(null, "Could not rename temp file to student file.");
+        SearchResults(List<Student> matches, String summary) {
+            for (Student student : matches) {
+                byDepartment.computeIfAbsent(student.getDepartment(), k -> new ArrayList<>()).add(student);
             }
+            this.summary = summary;
         }
     }
-}
\ No newline at end of file
+}
@@ -1,56 +1,142 @@
 package GUI.panels;
 
 import java.lang.*;
+import GUI.Entity.Page;
+import GUI.Entity.Person;
+import GUI.Entity.QueryResult;
+import GUI.Entity.RepositoryListener;
+import GUI.Entity.RosterQuery;
+import GUI.Entity.RosterOrder;
+import GUI.Entity.SortedIndex;
+import GUI.Entity.Teacher;
+import GUI.Entity.TeacherRepository;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.*;
-import java.io.*;
 import java.util.*;
 import java.util.List;
+import java.util.function.Predicate;
 
 public class TeacherPanel extends JPanel {
     private Map<String, List<Teacher>> departmentTeachers = new HashMap<>();
     private JComboBox<String> departmentFilter;
+    private JComboBox<String> genderFilter;
+    private JComboBox<String> designationFilter;
+    private JComboBox<String> sortFilter;
     private JTextField searchField;
-    private JPanel contentPanel;
+    private LiveSearch<SearchResults> liveSearch;
+    private JLabel queryStatus;
+    private VirtualGrid<Teacher> rosterGrid;
     private JScrollPane scrollPane;
-    private String csvFilePath = "src/userdata/teachers.csv";
-    private static final int PHOTO_WIDTH = 80;
-    private static final int PHOTO_HEIGHT = 100;
+    private final TeacherRepository repository = TeacherRepository.getInstance();
+    private boolean refreshPending;
+    private String pendingDepartment;
+    private static final int CARD_HEIGHT = 180;
+    private static final int PAGE_SIZE = 50;
+    private static final String GROUPED = "Department";
+
+    // Sorted view state: how many are shown, the cursor for the next page and its button
+    private int sortedShown;
+    private SortedIndex.Cursor nextPage;
+    private JButton nextPageButton;
 
     public TeacherPanel() {
         setLayout(new BorderLayout());
         initializeComponents();
-        loadTeachersFromCSV();
+        loadTeachers();
         setupLayout();
-        departmentFilter.addActionListener(e -> filterByDepartment());
+        departmentFilter.addActionListener(e -> applyFilters());
+        genderFilter.addActionListener(e -> applyFilters());
+        designationFilter.addActionListener(e -> applyFilters());
+        sortFilter.addActionListener(e -> applyFilters());
         displayTeachers("All");
+
+        // Apply registrations and deletions as they happen instead of reloading
+        repository.addListener(new RepositoryListener<Teacher>() {
+            @Override
+            public void recordAdded(Teacher teacher) {
+                SwingUtilities.invokeLater(() -> teacherAdded(teacher));
+            }
+
+            @Override
+            public void recordRemoved(Teacher teacher) {
+                SwingUtilities.invokeLater(() -> teacherRemoved(teacher));
+            }
+
+            @Override
+            public void recordUpdated(Teacher previous, Teacher current) {
+                SwingUtilities.invokeLater(() -> teacherUpdated(previous, current));
+            }
+        });
     }
 
     private void initializeComponents() {
         departmentFilter = new JComboBox<>();
         departmentFilter.addItem("All");
+        // Every option shows its live count from the repository's facet counters
+        departmentFilter.setRenderer(new FacetComboRenderer(
+                department -> repository.getFacetCount(Person.FACET_DEPARTMENT, department), this::totalTeachers));
+        genderFilter = new JComboBox<>();
+        genderFilter.addItem("All");
+        genderFilter.setRenderer(new FacetComboRenderer(
+                gender -> repository.getFacetCount(Person.FACET_GENDER, gender), this::totalTeachers));
+        designationFilter = new JComboBox<>();
+        designationFilter.addItem("All");
+        designationFilter.setRenderer(new FacetComboRenderer(
+                designation -> repository.getFacetCount(Teacher.FACET_DESIGNATION, designation), this::totalTeachers));
+
+        // Grouped by department as before, or one list in a maintained sort order
+        sortFilter = new JComboBox<>();
+        sortFilter.addItem(GROUPED);
+        for (RosterOrder order : RosterOrder.values()) {
+            sortFilter.addItem(order.toString());
+        }
 
         searchField = new JTextField(20);
+        searchField.setToolTipText("<html>Keywords, or filters such as<br>"
+                + "dept:Engineering gender:Female age:20..25 registered:>2025-06-01 subject:&quot;Machine Learning&quot;<br>"
+                + "Combine with OR, negate with -, group with ( )</html>");
+        queryStatus = new JLabel(" ", SwingConstants.CENTER);
+        queryStatus.setForeground(Color.WHITE);
+        queryStatus.setFont(new Font("Arial", Font.PLAIN, 11));
         searchField.addActionListener(e -> searchTeachers());
+        liveSearch = new LiveSearch<>(searchField, this::findTeachers, this::showSearchResults);
+        new AutocompletePopup<Teacher>(searchField,
+                text -> repository.complete(text, AutocompletePopup.MAX_SUGGESTIONS),
+                teacher -> teacher.getName() + "  <" + teacher.getEmail() + ">  " + teacher.getId(),
+                Teacher::getName);
+
+        // Only the cards in view exist; they are re-bound to other teachers as the view scrolls
+        rosterGrid = new VirtualGrid<>(new VirtualGrid.CardRenderer<Teacher>() {
+            @Override
+            public JComponent createCard() {
+                return new RosterCard(null);
+            }
+
+            @Override
+            public void bindCard(JComponent card, Teacher teacher) {
+                ((RosterCard) card).bind(teacher);
+            }
 
-        contentPanel = new JPanel();
-        contentPanel.setLayout(new BoxLayout(contentPanel, BoxLayout.Y_AXIS));
-        contentPanel.setBackground(new Color(245, 245, 245));
+            @Override
+            public void unbindCard(JComponent card) {
+                ((RosterCard) card).unbind();
+            }
+        }, CARD_HEIGHT);
     }
 
     private void setupLayout() {
         JPanel headerPanel = createHeaderPanel();
         add(headerPanel, BorderLayout.NORTH);
 
-        scrollPane = new JScrollPane(contentPanel);
+        scrollPane = new JScrollPane(rosterGrid);
         scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
         scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
         scrollPane.getVerticalScrollBar().setUnitIncrement(16);
         scrollPane.setPreferredSize(new Dimension(700, 500));
 
-        contentPanel.addMouseWheelListener(e -> {
+        rosterGrid.addMouseWheelListener(e -> {
             JScrollBar bar = scrollPane.getVerticalScrollBar();
             int amount = e.getUnitsToScroll() * bar.getUnitIncrement();
             bar.setValue(bar.getValue() + amount);
@@ -78,6 +164,24 @@ public class TeacherPanel extends JPanel {
         filterPanel.add(deptLabel);
         filterPanel.add(departmentFilter);
 
+        JLabel genderLabel = new JLabel("Gender:");
+        genderLabel.setForeground(Color.WHITE);
+        genderLabel.setFont(new Font("Arial", Font.BOLD, 12));
+        filterPanel.add(genderLabel);
+        filterPanel.add(genderFilter);
+
+        JLabel designationLabel = new JLabel("Designation:");
+        designationLabel.setForeground(Color.WHITE);
+        designationLabel.setFont(new Font("Arial", Font.BOLD, 12));
+        filterPanel.add(designationLabel);
+        filterPanel.add(designationFilter);
+
+        JLabel sortLabel = new JLabel("Sort:");
+        sortLabel.setForeground(Color.WHITE);
+        sortLabel.setFont(new Font("Arial", Font.BOLD, 12));
+        filterPanel.add(sortLabel);
+        filterPanel.add(sortFilter);
+
         JLabel searchLabel = new JLabel("Search:");
         searchLabel.setForeground(Color.WHITE);
         searchLabel.setFont(new Font("Arial", Font.BOLD, 12));
@@ -93,31 +197,12 @@ public class TeacherPanel extends JPanel {
         filterPanel.add(refreshBtn);
 
         headerPanel.add(filterPanel, BorderLayout.CENTER);
+        headerPanel.add(queryStatus, BorderLayout.SOUTH);
 
         return headerPanel;
     }
 
-    // Robust CSV parser for quoted fields (handles commas in address)
-    private static List<String> parseCSVLine(String line) {
-        List<String> result = new ArrayList<>();
-        boolean inQuotes = false;
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            if (c == '\"') {
-                inQuotes = !inQuotes;
-            } else if (c == ',' && !inQuotes) {
-                result.add(sb.toString().replace("\"\"", "\""));
-                sb.setLength(0);
-            } else {
-                sb.append(c);
-            }
-        }
-        result.add(sb.toString().replace("\"\"", "\""));
-        return result;
-    }
-
-    private void loadTeachersFromCSV() {
+    private void loadTeachers() {
         departmentTeachers.clear();
 
         ActionListener[] listeners = departmentFilter.getActionListeners();
@@ -128,325 +213,296 @@ public class TeacherPanel extends JPanel {
         departmentFilter.removeAllItems();
         departmentFilter.addItem("All");
 
-        File csvFile = new File(csvFilePath);
-        if (!csvFile.exists()) {
-            JOptionPane.showMessageDialog(this, "No teacher data found. Please register teachers first.");
-            for (ActionListener listener : listeners) {
-                departmentFilter.addActionListener(listener);
+        // Served from the repository's department index; nothing is read from disk here
+        for (String department : repository.getDepartments()) {
+            departmentTeachers.put(department, repository.getByDepartment(department));
+            if (!department.isEmpty()) {
+                departmentFilter.addItem(department);
             }
-            return;
         }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(csvFile))) {
-            String line;
-            boolean isFirstLine = true;
+        for (ActionListener listener : listeners) {
+            departmentFilter.addActionListener(listener);
+        }
+        syncFacetFilters();
+    }
+
+    // Bring the gender and designation options in line with the facet counts and
+    // repaint the filters so they show current counts; false if a selected option is gone
+    private boolean syncFacetFilters() {
+        boolean kept = FacetComboRenderer.syncItems(genderFilter,
+                repository.getFacetCounts(Person.FACET_GENDER).keySet());
+        kept &= FacetComboRenderer.syncItems(designationFilter,
+                repository.getFacetCounts(Teacher.FACET_DESIGNATION).keySet());
+        designationFilter.repaint();
+        departmentFilter.repaint();
+        genderFilter.repaint();
+        return kept;
+    }
 
-            while ((line = br.readLine()) != null) {
-                if (isFirstLine) {
-                    isFirstLine = false;
-                    continue; // Skip header
-                }
+    private int totalTeachers() {
+        int total = 0;
+        for (List<Teacher> teachers : departmentTeachers.values()) {
+            total += teachers.size();
+        }
+        return total;
+    }
 
-                List<String> data = parseCSVLine(line);
-                if (data.size() >= 10) {
-                    String id = data.get(0).trim();
-                    String name = data.get(1).trim();
-                    String age = data.get(2).trim();
-                    String email = data.get(3).trim();
-                    String department = data.get(4).trim();
-                    String subject = data.get(5).trim();
-                    String designation = data.get(6).trim();
-                    String gender = data.get(7).trim();
-                    String address = data.get(8).trim();
-                    String photoPath = data.get(9).trim().replace("\\", "/");
-                    String registrationDate = data.size() > 10 ? data.get(10).trim() : "";
-
-                    Teacher teacher = new Teacher(
-                        id, name, age, email, department, subject, designation, gender, address, photoPath, registrationDate
-                    );
-
-                    departmentTeachers.computeIfAbsent(department, k -> new ArrayList<>()).add(teacher);
-
-                    // Add department to filter if not present
-                    boolean deptExists = false;
-                    for (int i = 0; i < departmentFilter.getItemCount(); i++) {
-                        if (departmentFilter.getItemAt(i).equals(department)) {
-                            deptExists = true;
-                            break;
-                        }
-                    }
-                    if (!deptExists && !department.isEmpty()) {
-                        departmentFilter.addItem(department);
-                    }
-                }
+    // Keep the filter in alphabetical order, as loaded from the repository
+    private void addDepartmentToFilter(String department) {
+        int index = 1; // after "All"
+        while (index < departmentFilter.getItemCount()
+                && departmentFilter.getItemAt(index).compareTo(department) < 0) {
+            index++;
+        }
+        departmentFilter.insertItemAt(department, index);
+    }
+
+    private void teacherAdded(Teacher teacher) {
+        String department = teacher.getDepartment();
+        if (!departmentTeachers.containsKey(department) && !department.isEmpty()) {
+            addDepartmentToFilter(department);
+        }
+        departmentTeachers.computeIfAbsent(department, k -> new ArrayList<>()).add(teacher);
+        scheduleRefresh(teacher.getDepartment());
+    }
+
+    private void teacherRemoved(Teacher teacher) {
+        String department = teacher.getDepartment();
+        List<Teacher> teachers = departmentTeachers.get(department);
+        if (teachers != null && teachers.remove(teacher) && teachers.isEmpty()) {
+            departmentTeachers.remove(department);
+            departmentFilter.removeItem(department);
+        }
+        scheduleRefresh(department);
+    }
+
+    private void teacherUpdated(Teacher previous, Teacher current) {
+        // An edit within the same department keeps the card where it was
+        List<Teacher> teachers = departmentTeachers.get(previous.getDepartment());
+        int index = teachers != null ? teachers.indexOf(previous) : -1;
+        if (index >= 0 && previous.getDepartment().equals(current.getDepartment())) {
+            teachers.set(index, current);
+            scheduleRefresh(current.getDepartment());
+        } else {
+            teacherRemoved(previous);
+            teacherAdded(current);
+        }
+    }
+
+    // Coalesce a burst of changes (e.g. a batch enrolment) into a single re-render
+    private void scheduleRefresh(String changedDepartment) {
+        if (refreshPending) {
+            if (pendingDepartment != null && !pendingDepartment.equals(changedDepartment)) {
+                pendingDepartment = null;
             }
-        } catch (IOException e) {
-            JOptionPane.showMessageDialog(this, "Error loading teacher data: " + e.getMessage());
+            return;
         }
+        refreshPending = true;
+        pendingDepartment = changedDepartment;
+        SwingUtilities.invokeLater(() -> {
+            refreshPending = false;
+            // A filter option that lost its last record falls back to "All", so redraw everything
+            refreshView(syncFacetFilters() ? pendingDepartment : null);
+        });
+    }
 
-        for (ActionListener listener : listeners) {
-            departmentFilter.addActionListener(listener);
+    // Re-render the current view if the changed department (null for several) is part of it
+    private void refreshView(String changedDepartment) {
+        if (!searchField.getText().trim().isEmpty()) {
+            searchTeachers();
+            return;
+        }
+        String selected = (String) departmentFilter.getSelectedItem();
+        if (selected == null || selected.equals("All") || changedDepartment == null
+                || selected.equals(changedDepartment)) {
+            displayTeachers(selected);
         }
     }
 
     private void displayTeachers(String selectedDepartment) {
         if (selectedDepartment == null) selectedDepartment = "All";
-        contentPanel.removeAll();
+        if (selectedSortOrder() != null && !departmentTeachers.isEmpty()) {
+            // Re-show as many as were on screen, so a change doesn't lose the user's place
+            displaySortedTeachers(selectedDepartment, Math.max(PAGE_SIZE, sortedShown));
+            return;
+        }
+        rosterGrid.clear();
 
         if (selectedDepartment.equals("All")) {
             List<String> sortedDepts = new ArrayList<>(departmentTeachers.keySet());
             Collections.sort(sortedDepts);
             for (String dept : sortedDepts) {
-                addDepartmentSection(dept, departmentTeachers.get(dept));
+                List<Teacher> teachers = matchingFacetFilters(departmentTeachers.get(dept));
+                if (!teachers.isEmpty()) {
+                    addDepartmentSection(dept, teachers);
+                }
             }
         } else {
-            List<Teacher> teachers = departmentTeachers.get(selectedDepartment);
-            if (teachers != null) {
+            List<Teacher> teachers = matchingFacetFilters(
+                    departmentTeachers.getOrDefault(selectedDepartment, Collections.<Teacher>emptyList()));
+            if (!teachers.isEmpty()) {
                 addDepartmentSection(selectedDepartment, teachers);
             }
         }
 
-        contentPanel.revalidate();
-        contentPanel.repaint();
+        if (departmentTeachers.isEmpty()) {
+            rosterGrid.setFooter(createMessageLabel("No teacher data found. Please register teachers first."));
+        }
     }
 
-    private void addDepartmentSection(String department, List<Teacher> teachers) {
-        JPanel deptHeaderPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
-        deptHeaderPanel.setBackground(new Color(245, 245, 245));
-        deptHeaderPanel.setBorder(new EmptyBorder(20, 20, 10, 20));
-
-        JLabel deptLabel = new JLabel(department + " (" + teachers.size() + " teachers)");
-        deptLabel.setFont(new Font("Arial", Font.BOLD, 18));
-        deptLabel.setForeground(new Color(70, 130, 180));
-        deptHeaderPanel.add(deptLabel);
-
-        contentPanel.add(deptHeaderPanel);
-
-        // Responsive grid: 2 columns for wide screens, 1 for narrow
-        int columns = Math.max(1, contentPanel.getWidth() / 400);
-        if (columns < 2) columns = 2;
-
-        JPanel teachersGrid = new JPanel(new GridBagLayout());
-        teachersGrid.setBackground(new Color(245, 245, 245));
-        teachersGrid.setBorder(new EmptyBorder(0, 20, 20, 20));
-
-        GridBagConstraints gbc = new GridBagConstraints();
-        gbc.insets = new Insets(10, 10, 10, 10);
-        gbc.fill = GridBagConstraints.BOTH;
-        gbc.weightx = 1.0;
-        gbc.weighty = 0.0;
-
-        for (int i = 0; i < teachers.size(); i++) {
-            Teacher teacher = teachers.get(i);
-            gbc.gridx = i % columns;
-            gbc.gridy = i / columns;
-            teachersGrid.add(createTeacherCard(teacher), gbc);
+    // The teachers of the list with the selected gender and designation
+    private List<Teacher> matchingFacetFilters(List<Teacher> teachers) {
+        List<Teacher> matching = new ArrayList<>();
+        for (Teacher teacher : teachers) {
+            if (matchesFacetFilters(teacher)) {
+                matching.add(teacher);
+            }
         }
+        return matching;
+    }
 
-        contentPanel.add(teachersGrid);
+    private boolean matchesFacetFilters(Teacher teacher) {
+        String gender = (String) genderFilter.getSelectedItem();
+        String designation = (String) designationFilter.getSelectedItem();
+        return (gender == null || gender.equals("All") || gender.equals(teacher.getGender()))
+                && (designation == null || designation.equals("All") || designation.equals(teacher.getDesignation()));
     }
 
-    private JPanel createTeacherCard(Teacher teacher) {
-        JPanel card = new JPanel(new BorderLayout(10, 0));
-        card.setBackground(Color.WHITE);
-        card.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(new Color(200, 200, 200), 1),
-                new EmptyBorder(8, 8, 8, 8)
-        ));
-
-        // Photo on the left
-        JLabel photoLabel = createPhotoLabel(teacher.getPhotoPath());
-        photoLabel.setPreferredSize(new Dimension(PHOTO_WIDTH, PHOTO_HEIGHT));
-        photoLabel.setMinimumSize(new Dimension(PHOTO_WIDTH, PHOTO_HEIGHT));
-        photoLabel.setMaximumSize(new Dimension(PHOTO_WIDTH, PHOTO_HEIGHT));
-        photoLabel.setHorizontalAlignment(SwingConstants.CENTER);
-        photoLabel.setVerticalAlignment(SwingConstants.CENTER);
-
-        // Details on the right
-        JPanel infoPanel = new JPanel();
-        infoPanel.setLayout(new BoxLayout(infoPanel, BoxLayout.Y_AXIS));
-        infoPanel.setOpaque(false);
-
-        JLabel nameLabel = new JLabel(teacher.getName());
-        nameLabel.setFont(new Font("Arial", Font.BOLD, 14));
-        nameLabel.setForeground(new Color(70, 130, 180));
-
-        JLabel idLabel = new JLabel("ID: " + teacher.getTeacherId());
-        idLabel.setFont(new Font("Arial", Font.PLAIN, 11));
-        idLabel.setForeground(Color.GRAY);
-
-        JLabel deptLabel = new JLabel("Dept: " + teacher.getDepartment());
-        deptLabel.setFont(new Font("Arial", Font.PLAIN, 12));
-
-        JLabel subjectLabel = new JLabel("Subject: " + teacher.getSubject());
-        subjectLabel.setFont(new Font("Arial", Font.PLAIN, 12));
-
-        JLabel designationLabel = new JLabel("Designation: " + teacher.getDesignation());
-        designationLabel.setFont(new Font("Arial", Font.PLAIN, 12));
-
-        JLabel ageGenderLabel = new JLabel("Age: " + teacher.getAge() + " | " + teacher.getGender());
-        ageGenderLabel.setFont(new Font("Arial", Font.PLAIN, 12));
-
-        JLabel emailLabel = new JLabel("Email: " + teacher.getEmail());
-        emailLabel.setFont(new Font("Arial", Font.PLAIN, 12));
-
-        JLabel addressLabel = new JLabel("<html><body style='width:220px'>Address: " + teacher.getAddress() + "</body></html>");
-        addressLabel.setFont(new Font("Arial", Font.PLAIN, 12));
-        addressLabel.setForeground(new Color(60, 60, 60));
-
-        JLabel regLabel = new JLabel("Registered: " + teacher.getRegistrationDate());
-        regLabel.setFont(new Font("Arial", Font.PLAIN, 11));
-        regLabel.setForeground(new Color(120, 120, 120));
-
-        infoPanel.add(nameLabel);
-        infoPanel.add(idLabel);
-        infoPanel.add(deptLabel);
-        infoPanel.add(subjectLabel);
-        infoPanel.add(designationLabel);
-        infoPanel.add(ageGenderLabel);
-        infoPanel.add(emailLabel);
-        infoPanel.add(addressLabel);
-        infoPanel.add(regLabel);
-
-        card.add(photoLabel, BorderLayout.WEST);
-        card.add(infoPanel, BorderLayout.CENTER);
-
-        // Hover effect
-        card.addMouseListener(new java.awt.event.MouseAdapter() {
-            public void mouseEntered(java.awt.event.MouseEvent evt) {
-                card.setBackground(new Color(240, 248, 255));
-                card.setBorder(BorderFactory.createCompoundBorder(
-                        BorderFactory.createLineBorder(new Color(70, 130, 180), 2),
-                        new EmptyBorder(7, 7, 7, 7)
-                ));
-            }
-            public void mouseExited(java.awt.event.MouseEvent evt) {
-                card.setBackground(Color.WHITE);
-                card.setBorder(BorderFactory.createCompoundBorder(
-                        BorderFactory.createLineBorder(new Color(200, 200, 200), 1),
-                        new EmptyBorder(8, 8, 8, 8)
-                ));
-            }
-        });
+    // The chosen sort order, or null for the view grouped by department
+    private RosterOrder selectedSortOrder() {
+        int index = sortFilter.getSelectedIndex();
+        return index <= 0 ? null : RosterOrder.values()[index - 1];
+    }
 
-        return card;
+    // The filtered roster as one grid in the chosen order, read a page at a time from the
+    // repository's sorted index; "Next {PAGE_SIZE}" continues from the last card's cursor
+    private void displaySortedTeachers(String selectedDepartment, int count) {
+        rosterGrid.clear();
+        RosterOrder order = selectedSortOrder();
+        Predicate<Teacher> filter = teacher -> (selectedDepartment.equals("All")
+                || selectedDepartment.equals(teacher.getDepartment())) && matchesFacetFilters(teacher);
+        rosterGrid.addSection((selectedDepartment.equals("All") ? "All teachers" : selectedDepartment)
+                + " by " + order, Collections.<Teacher>emptyList());
+
+        nextPageButton = new JButton("Next " + PAGE_SIZE);
+        nextPageButton.addActionListener(e -> showNextPage(order, filter, PAGE_SIZE));
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        buttonPanel.setBackground(new Color(245, 245, 245));
+        buttonPanel.add(nextPageButton);
+        rosterGrid.setFooter(buttonPanel);
+
+        sortedShown = 0;
+        nextPage = null;
+        showNextPage(order, filter, count);
     }
 
-    private JLabel createPhotoLabel(String photoPath) {
-        JLabel photoLabel = new JLabel();
-        photoLabel.setHorizontalAlignment(SwingConstants.CENTER);
-        photoLabel.setVerticalAlignment(SwingConstants.CENTER);
-
-        try {
-            String normalizedPath = photoPath.replace("\"", "").replace("\\", "/").trim();
-            File photoFile = new File(normalizedPath);
-            if (!photoFile.isAbsolute()) {
-                String projectRoot = System.getProperty("user.dir");
-                photoFile = new File(projectRoot, normalizedPath);
-            }
-            if (photoFile.exists()) {
-                ImageIcon originalIcon = new ImageIcon(photoFile.getAbsolutePath());
-                Image img = originalIcon.getImage();
-                Image scaledImg = img.getScaledInstance(PHOTO_WIDTH, PHOTO_HEIGHT, Image.SCALE_SMOOTH);
-                photoLabel.setIcon(new ImageIcon(scaledImg));
-                photoLabel.setText("");
-            } else {
-                photoLabel.setText("👤");
-                photoLabel.setFont(new Font("Arial", Font.PLAIN, 28));
-                photoLabel.setForeground(new Color(70, 130, 180));
-                photoLabel.setOpaque(true);
-                photoLabel.setBackground(new Color(240, 248, 255));
-            }
-        } catch (Exception e) {
-            photoLabel.setText("👤");
-            photoLabel.setFont(new Font("Arial", Font.PLAIN, 28));
-            photoLabel.setForeground(new Color(70, 130, 180));
-            photoLabel.setOpaque(true);
-            photoLabel.setBackground(new Color(240, 248, 255));
+    private void showNextPage(RosterOrder order, Predicate<Teacher> filter, int count) {
+        Page<Teacher> page = repository.page(order, nextPage, count, filter);
+        rosterGrid.appendToLastSection(page.getRecords());
+        sortedShown += page.getRecords().size();
+        if (sortedShown == 0) {
+            rosterGrid.setFooter(createMessageLabel("No teachers match the selected filters."));
         }
+        nextPage = page.getNext();
+        nextPageButton.setVisible(page.hasNext());
+    }
+
+    private void addDepartmentSection(String department, List<Teacher> teachers) {
+        rosterGrid.addSection(department + " (" + teachers.size() + " teachers)", teachers);
+    }
 
-        return photoLabel;
+    private JLabel createMessageLabel(String message) {
+        JLabel label = new JLabel(message);
+        label.setFont(new Font("Arial", Font.PLAIN, 14));
+        label.setBorder(new EmptyBorder(20, 20, 20, 20));
+        return label;
     }
 
-    private void filterByDepartment() {
+    private void applyFilters() {
+        sortedShown = 0; // a new filter or order starts again from the first page
         String selected = (String) departmentFilter.getSelectedItem();
         if (selected == null) selected = "All";
         displayTeachers(selected);
     }
 
+    // Search the field's text now; typing also searches once the user pauses
     private void searchTeachers() {
-        String searchTerm = searchField.getText().trim().toLowerCase();
+        liveSearch.runNow();
+    }
+
+    // Runs on the search thread. Text using the query syntax (dept:, age:, ...) is planned
+    // against the repository's indexes; plain text gets substring matches from the trigram
+    // index, then names within a typo or two ("Farhaan" finds "Farhan"), closest first
+    private SearchResults findTeachers(String searchTerm) {
+        if (searchTerm.isEmpty()) {
+            return new SearchResults(Collections.<Teacher>emptyList(), " ");
+        }
+        if (RosterQuery.isStructured(searchTerm)) {
+            try {
+                QueryResult<Teacher> result = repository.query(RosterQuery.parse(searchTerm));
+                return new SearchResults(result.getMatches(), result.describe());
+            } catch (IllegalArgumentException e) {
+                return new SearchResults(Collections.<Teacher>emptyList(), "Invalid query: " + e.getMessage());
+            }
+        }
+        Set<Teacher> found = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Teacher> ranked = new ArrayList<>(repository.search(searchTerm));
+        found.addAll(ranked);
+        for (Teacher teacher : repository.fuzzySearch(searchTerm)) {
+            if (found.add(teacher)) {
+                ranked.add(teacher);
+            }
+        }
+        return new SearchResults(ranked, String.format("%,d match%s (keyword and name indexes)",
+                ranked.size(), ranked.size() == 1 ? "" : "es"));
+    }
+
+    private void showSearchResults(String searchTerm, SearchResults results) {
+        queryStatus.setText(results.summary);
         if (searchTerm.isEmpty()) {
             displayTeachers((String) departmentFilter.getSelectedItem());
             return;
         }
 
-        contentPanel.removeAll();
+        rosterGrid.clear();
 
         for (String dept : departmentTeachers.keySet()) {
-            List<Teacher> filteredTeachers = new ArrayList<>();
-            for (Teacher teacher : departmentTeachers.get(dept)) {
-                if (
-                        teacher.getName().toLowerCase().contains(searchTerm) ||
-                        teacher.getTeacherId().toLowerCase().contains(searchTerm) ||
-                        teacher.getEmail().toLowerCase().contains(searchTerm) ||
-                        teacher.getDepartment().toLowerCase().contains(searchTerm) ||
-                        teacher.getSubject().toLowerCase().contains(searchTerm) ||
-                        teacher.getDesignation().toLowerCase().contains(searchTerm) ||
-                        teacher.getGender().toLowerCase().contains(searchTerm) ||
-                        teacher.getAddress().toLowerCase().contains(searchTerm)
-                ) {
-                    filteredTeachers.add(teacher);
-                }
-            }
-            if (!filteredTeachers.isEmpty()) {
+            List<Teacher> filteredTeachers = results.byDepartment.get(dept);
+            if (filteredTeachers != null) {
                 addDepartmentSection(dept, filteredTeachers);
             }
         }
+    }
 
-        contentPanel.revalidate();
-        contentPanel.repaint();
+    // Show the teachers matching the text, e.g. a record picked in the quick-find dialog
+    public void searchFor(String text) {
+        searchField.setText(text);
+        searchTeachers();
     }
 
     private void refreshData() {
-        loadTeachersFromCSV();
+        loadTeachers();
         displayTeachers("All");
         searchField.setText("");
         if (departmentFilter.getItemCount() > 0) {
             departmentFilter.setSelectedItem("All");
         }
+        genderFilter.setSelectedItem("All");
+        sortFilter.setSelectedItem(GROUPED);
+        designationFilter.setSelectedItem("All");
     }
 
-    // Teacher class for your CSV structure
-    private static class Teacher {
-        private String teacherId, name, age, email, department, subject, designation, gender, address, photoPath, registrationDate;
-
-        public Teacher(String teacherId, String name, String age, String email,
-                       String department, String subject, String designation, String gender,
-                       String address, String photoPath, String registrationDate) {
-            this.teacherId = teacherId;
-            this.name = name;
-            this.age = age;
-            this.email = email;
-            this.department = department;
-            this.subject = subject;
-            this.designation = designation;
-            this.gender = gender;
-            this.address = address;
-            this.photoPath = photoPath;
-            this.registrationDate = registrationDate;
-        }
+    // Matches grouped by department, with a line saying how they were found
+    private static final class SearchResults {
+        private final Map<String, List<Teacher>> byDepartment = new HashMap<>();
+        private final String summary;
 
-        public String getTeacherId() { return teacherId; }
-        public String getName() { return name; }
-        public String getAge() { return age; }
-        public String getEmail() { return email; }
-        public String getDepartment() { return department; }
-        public String getSubject() { return subject; }
-        public String getDesignation() { return designation; }
-        public String getGender() { return gender; }
-        public String getAddress() { return address; }
-        public String getPhotoPath() { return photoPath; }
-        public String getRegistrationDate() { return registrationDate; }
+        SearchResults(List<Teacher> matches, String summary) {
+            for (Teacher teacher : matches) {
+                byDepartment.computeIfAbsent(teacher.getDepartment(), k -> new ArrayList<>()).add(teacher);
+            }
+            this.summary = summary;
+        }
     }
 }
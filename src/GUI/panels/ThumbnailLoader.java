@@ -0,0 +1,82 @@
+package GUI.panels;
+
+import java.lang.*;
+import GUI.Entity.ThumbnailCache;
+import javax.swing.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+// Loads photo thumbnails for roster cards in the background.
+// Decoding a photo (several hundred KB for some) and scaling it takes far longer than
+// laying out a card, so cards show a placeholder and ask for their photo here. A few
+// daemon threads do the decoding; each finished thumbnail is handed to its card on the
+// event dispatch thread. A card that is re-bound or scrolled away cancels its request:
+// a request still queued is dropped, and one already decoding is never delivered.
+// Thumbnails go through the shared ThumbnailCache, and one already cached is handed
+// over at once without a trip to the pool.
+class ThumbnailLoader {
+    private static final int THREADS = Math.max(1, Math.min(3, Runtime.getRuntime().availableProcessors() - 1));
+
+    private static final ThreadPoolExecutor DECODERS = new ThreadPoolExecutor(THREADS, THREADS,
+            0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+        Thread thread = new Thread(r, "ThumbnailLoader");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.NORM_PRIORITY - 1); // stay behind the EDT
+        return thread;
+    });
+
+    private ThumbnailLoader() {
+    }
+
+    // Decode the photo at width x height in the background; onLoaded gets it on the EDT
+    // unless the request is cancelled first. Nothing is delivered for a missing photo.
+    // A cached thumbnail is passed to onLoaded before returning, and the result is null.
+    static Request load(String photoPath, int width, int height, Consumer<BufferedImage> onLoaded) {
+        BufferedImage cached = ThumbnailCache.shared().get(photoPath, width, height);
+        if (cached != null) {
+            onLoaded.accept(cached);
+            return null;
+        }
+        Request request = new Request(photoPath, width, height, onLoaded);
+        DECODERS.execute(request);
+        return request;
+    }
+
+    static final class Request implements Runnable {
+        private final String photoPath;
+        private final int width;
+        private final int height;
+        private final Consumer<BufferedImage> onLoaded;
+        private volatile boolean cancelled;
+
+        private Request(String photoPath, int width, int height, Consumer<BufferedImage> onLoaded) {
+            this.photoPath = photoPath;
+            this.width = width;
+            this.height = height;
+            this.onLoaded = onLoaded;
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            BufferedImage thumbnail = ThumbnailCache.shared().load(photoPath, width, height);
+            if (thumbnail != null) {
+                SwingUtilities.invokeLater(() -> {
+                    // Checked on the EDT, where cancel() is called, so a cancelled request never lands
+                    if (!cancelled) {
+                        onLoaded.accept(thumbnail);
+                    }
+                });
+            }
+        }
+
+        // Call on the EDT
+        void cancel() {
+            cancelled = true;
+            DECODERS.remove(this);
+        }
+    }
+}
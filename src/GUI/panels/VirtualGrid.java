@@ -0,0 +1,371 @@
+package GUI.panels;
+
+import java.lang.*;
+import javax.swing.*;
+import javax.swing.event.ChangeListener;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.*;
+import java.util.List;
+
+// Scrollable grid of record cards, grouped in titled sections, that only creates
+// cards for the rows in the viewport (plus a few rows of overscan above and below).
+// Every row has a fixed height, so the position of any record is arithmetic and the
+// grid's full height is known without building anything. As the view scrolls, cards
+// that leave the visible range go back to a pool and are re-bound to the records
+// coming into view through the CardRenderer. Section titles are painted, not built.
+//
+// The number of live cards, and the time to lay them out, depends on the window
+// size, not on how many records the grid holds.
+//
+// Cards can leave mouse handling to the grid by implementing Interactive: one listener
+// on the grid finds the card under the mouse and passes it card-relative points.
+class VirtualGrid<T> extends JPanel implements Scrollable {
+    // Creates an empty card once and fills it with a record each time it is reused
+    interface CardRenderer<T> {
+        JComponent createCard();
+
+        void bindCard(JComponent card, T record);
+
+        // The card has left the view and waits in the pool, e.g. to stop loading its photo
+        default void unbindCard(JComponent card) {
+        }
+    }
+
+    // A card that takes its hover and clicks from the grid; points are in card coordinates
+    interface Interactive {
+        // The mouse is over the card at point, or has left it when point is null
+        void mouseMovedTo(Point point);
+
+        void clicked(Point point);
+
+        // The cursor to show at point, or null for the default
+        Cursor cursorAt(Point point);
+    }
+
+    private static final int HEADER_HEIGHT = 50;
+    private static final int MARGIN = 20;        // around the grid, as the section panels had
+    private static final int GAP = 20;           // between cards
+    private static final int MIN_CARD_WIDTH = 400;
+    private static final int OVERSCAN_ROWS = 2;
+    private static final Font TITLE_FONT = new Font("Arial", Font.BOLD, 18);
+    private static final Color TITLE_COLOR = new Color(70, 130, 180);
+
+    private final CardRenderer<T> renderer;
+    private final int cardHeight;
+    private final List<String> titles = new ArrayList<>();
+    private final List<List<T>> sections = new ArrayList<>();
+    private JComponent footer;
+
+    // Row layout for the current width: each row is a section title or a line of cards
+    private int columns = 2;
+    private int layoutWidth = -1;
+    private int[] rowTop = new int[0];
+    private int[] rowSection = new int[0];
+    private int[] rowFirst = new int[0];   // index of the row's first record, -1 for a title row
+    private int contentHeight;
+
+    // Live cards by slot (section << 32 | index), and cards waiting to be reused
+    private final Map<Long, JComponent> active = new HashMap<>();
+    private final Deque<JComponent> pool = new ArrayDeque<>();
+    private boolean rebindAll;
+
+    private JViewport viewport;
+    private final ChangeListener scrollListener = e -> updateCards();
+    private Component hoveredCard;
+
+    VirtualGrid(CardRenderer<T> renderer, int cardHeight) {
+        super(null);
+        this.renderer = renderer;
+        this.cardHeight = cardHeight;
+        setBackground(new Color(245, 245, 245));
+
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                hover(e.getPoint());
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                hover(e.getPoint());
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                hover(null);
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                Component card = cardAt(e.getPoint());
+                if (card instanceof Interactive && SwingUtilities.isLeftMouseButton(e)) {
+                    ((Interactive) card).clicked(SwingUtilities.convertPoint(VirtualGrid.this, e.getPoint(), card));
+                }
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+    }
+
+    private void hover(Point point) {
+        Component card = point == null ? null : cardAt(point);
+        if (hoveredCard != card && hoveredCard instanceof Interactive) {
+            ((Interactive) hoveredCard).mouseMovedTo(null);
+        }
+        hoveredCard = card;
+        Cursor cursor = null;
+        if (card instanceof Interactive) {
+            Point inCard = SwingUtilities.convertPoint(this, point, card);
+            ((Interactive) card).mouseMovedTo(inCard);
+            cursor = ((Interactive) card).cursorAt(inCard);
+        }
+        setCursor(cursor);
+    }
+
+    private Component cardAt(Point point) {
+        for (JComponent card : active.values()) {
+            if (card.isVisible() && card.getBounds().contains(point)) {
+                return card;
+            }
+        }
+        return null;
+    }
+
+    // Start over with no sections and no footer
+    void clear() {
+        titles.clear();
+        sections.clear();
+        setFooter(null);
+        contentChanged();
+    }
+
+    void addSection(String title, List<T> records) {
+        titles.add(title);
+        sections.add(new ArrayList<>(records));
+        contentChanged();
+    }
+
+    // Add records to the end of the last section, e.g. the next page of a sorted view
+    void appendToLastSection(List<T> records) {
+        if (sections.isEmpty()) {
+            throw new IllegalStateException("No section to append to");
+        }
+        sections.get(sections.size() - 1).addAll(records);
+        contentChanged();
+    }
+
+    // A component shown after the last section (a button, a message), or null
+    void setFooter(JComponent footer) {
+        if (this.footer != null) {
+            remove(this.footer);
+        }
+        this.footer = footer;
+        if (footer != null) {
+            add(footer);
+        }
+        contentChanged();
+    }
+
+    int getRecordCount() {
+        int count = 0;
+        for (List<T> section : sections) {
+            count += section.size();
+        }
+        return count;
+    }
+
+    private void contentChanged() {
+        layoutWidth = -1;
+        rebindAll = true;
+        revalidate();
+        repaint();
+    }
+
+    @Override
+    public void doLayout() {
+        computeRows(getWidth());
+        updateCards();
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        computeRows(getWidth() > 0 ? getWidth() : 2 * MIN_CARD_WIDTH + 2 * MARGIN);
+        return new Dimension(2 * MIN_CARD_WIDTH, contentHeight);
+    }
+
+    private void computeRows(int width) {
+        if (width == layoutWidth) {
+            return;
+        }
+        layoutWidth = width;
+        columns = Math.max(2, (width - 2 * MARGIN) / MIN_CARD_WIDTH);
+        int rows = 0;
+        for (List<T> section : sections) {
+            rows += 1 + (section.size() + columns - 1) / columns;
+        }
+        rowTop = new int[rows];
+        rowSection = new int[rows];
+        rowFirst = new int[rows];
+        int row = 0;
+        int y = 0;
+        for (int s = 0; s < sections.size(); s++) {
+            rowTop[row] = y;
+            rowSection[row] = s;
+            rowFirst[row++] = -1;
+            y += HEADER_HEIGHT;
+            for (int first = 0; first < sections.get(s).size(); first += columns) {
+                rowTop[row] = y;
+                rowSection[row] = s;
+                rowFirst[row++] = first;
+                y += cardHeight + GAP;
+            }
+            y += MARGIN - GAP / 2;
+        }
+        if (footer != null) {
+            footer.setBounds(0, y, width, footer.getPreferredSize().height);
+            y += footer.getPreferredSize().height;
+        }
+        contentHeight = y + MARGIN;
+        rebindAll = true;
+    }
+
+    // Bind cards to the rows in view, reusing the ones that scrolled out
+    private void updateCards() {
+        Rectangle view = getVisibleRect();
+        if (view.height == 0) {
+            view = new Rectangle(0, 0, getWidth(), viewport != null ? viewport.getHeight() : 0);
+        }
+        int firstRow = Math.max(0, rowAt(view.y) - OVERSCAN_ROWS);
+        int lastRow = Math.min(rowTop.length - 1, rowAt(view.y + view.height) + OVERSCAN_ROWS);
+
+        Map<Long, Integer> wanted = new LinkedHashMap<>();
+        for (int row = firstRow; row <= lastRow; row++) {
+            if (rowFirst[row] < 0) {
+                continue;
+            }
+            List<T> section = sections.get(rowSection[row]);
+            for (int i = rowFirst[row]; i < Math.min(section.size(), rowFirst[row] + columns); i++) {
+                wanted.put(((long) rowSection[row] << 32) | i, row);
+            }
+        }
+        for (Iterator<Map.Entry<Long, JComponent>> it = active.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Long, JComponent> entry = it.next();
+            if (!wanted.containsKey(entry.getKey())) {
+                entry.getValue().setVisible(false);
+                renderer.unbindCard(entry.getValue());
+                if (hoveredCard == entry.getValue()) {
+                    hoveredCard = null;
+                }
+                pool.push(entry.getValue());
+                it.remove();
+            }
+        }
+
+        int cardWidth = (getWidth() - 2 * MARGIN - (columns - 1) * GAP) / columns;
+        for (Map.Entry<Long, Integer> slot : wanted.entrySet()) {
+            int section = (int) (slot.getKey() >>> 32);
+            int index = (int) (long) slot.getKey();
+            JComponent card = active.get(slot.getKey());
+            if (card == null || rebindAll) {
+                if (card == null) {
+                    card = pool.isEmpty() ? newCard() : pool.pop();
+                    active.put(slot.getKey(), card);
+                }
+                renderer.bindCard(card, sections.get(section).get(index));
+            }
+            int column = index % columns;
+            card.setBounds(MARGIN + column * (cardWidth + GAP), rowTop[slot.getValue()] + GAP / 2,
+                    cardWidth, cardHeight);
+            card.setVisible(true);
+            card.validate();
+        }
+        rebindAll = false;
+    }
+
+    private JComponent newCard() {
+        JComponent card = renderer.createCard();
+        add(card);
+        return card;
+    }
+
+    // Last row starting at or above y
+    private int rowAt(int y) {
+        int low = 0;
+        int high = rowTop.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (rowTop[middle] <= y) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (rowTop.length == 0) {
+            return;
+        }
+        Rectangle clip = g.getClipBounds();
+        int first = clip != null ? rowAt(clip.y) : 0;
+        int last = clip != null ? rowAt(clip.y + clip.height) : rowTop.length - 1;
+        ((Graphics2D) g).setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+                RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setFont(TITLE_FONT);
+        g.setColor(TITLE_COLOR);
+        for (int row = first; row <= last; row++) {
+            if (rowFirst[row] < 0) {
+                g.drawString(titles.get(rowSection[row]), MARGIN + 5,
+                        rowTop[row] + MARGIN + g.getFontMetrics().getAscent());
+            }
+        }
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        viewport = (JViewport) SwingUtilities.getAncestorOfClass(JViewport.class, this);
+        if (viewport != null) {
+            viewport.addChangeListener(scrollListener);
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        if (viewport != null) {
+            viewport.removeChangeListener(scrollListener);
+            viewport = null;
+        }
+        super.removeNotify();
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return 16;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return Math.max(16, visibleRect.height - cardHeight);
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return true;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+}
@@ -12,7 +12,7 @@ if not exist bin\Main\SMSYSmain.class (
     echo Compiled files found. Skipping compilation.
 )
 
-REM Run the main class (Main.SMSYSmain)
-java -cp bin Main.SMSYSmain
+REM Run the main class (Main.SMSYSmain); JDBC driver jars are picked up from lib
+java -cp "bin;lib\*" Main.SMSYSmain
 
 pause
\ No newline at end of file